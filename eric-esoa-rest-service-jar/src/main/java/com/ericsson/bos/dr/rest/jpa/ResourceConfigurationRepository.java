@@ -18,8 +18,10 @@ package com.ericsson.bos.dr.rest.jpa;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.ericsson.bos.dr.rest.jpa.model.ResourceConfigurationEntity;
+import com.ericsson.bos.dr.rest.jpa.model.ResourceConfigurationVersion;
 
 /**
  * Resource Configuration Repository
@@ -33,4 +35,12 @@ public interface ResourceConfigurationRepository extends JpaRepository<ResourceC
      */
     Optional<ResourceConfigurationEntity> findByName(String name);
 
+    /**
+     * Find the id and version of a Resource Configuration by name, without loading the configuration contents.
+     * @param name Resource Configuration name
+     * @return ResourceConfigurationVersion optional
+     */
+    @Query("select r.id as id, r.version as version from ResourceConfigurationEntity r where r.name = ?1")
+    Optional<ResourceConfigurationVersion> findVersionByName(String name);
+
 }
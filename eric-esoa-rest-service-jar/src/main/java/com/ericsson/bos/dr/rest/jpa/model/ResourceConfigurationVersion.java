@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.jpa.model;
+
+/**
+ * Projection of the id and version of a <code>ResourceConfigurationEntity</code>.
+ */
+public interface ResourceConfigurationVersion {
+
+    /**
+     * Resource configuration id.
+     * @return id
+     */
+    Long getId();
+
+    /**
+     * Resource configuration version.
+     * @return version
+     */
+    Long getVersion();
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.model.resources;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import com.ericsson.bos.dr.rest.jpa.model.ResourceConfigurationEntity;
+import com.ericsson.bos.dr.rest.model.mappers.ResourceConfigurationMapper;
+import com.ericsson.bos.dr.rest.web.v1.api.model.ResourceConfigurationDto;
+import com.ericsson.bos.dr.rest.web.v1.api.model.ResourceDto;
+import com.ericsson.bos.dr.rest.web.v1.api.model.ResourceMethodPropertyDto;
+
+/**
+ * The pre-resolved <code>ResourceMethodDefinition</code> for every resource method in a specific
+ * version of a resource configuration. Resource names are case-sensitive, method names are case-insensitive.
+ */
+public class ResourceConfigurationDefinition {
+
+    private final Long id;
+    private final Long version;
+    private final Map<String, Map<String, ResourceMethodDefinition>> resources = new HashMap<>();
+
+    /**
+     * ResourceConfigurationDefinition.
+     * @param resourceConfigurationEntity resource configuration entity
+     */
+    public ResourceConfigurationDefinition(final ResourceConfigurationEntity resourceConfigurationEntity) {
+        this.id = resourceConfigurationEntity.getId();
+        this.version = resourceConfigurationEntity.getVersion();
+        final ResourceConfigurationDto resourceConfigurationDto = new ResourceConfigurationMapper().apply(resourceConfigurationEntity);
+        Optional.ofNullable(resourceConfigurationDto.getResources()).ifPresent(r -> r.forEach((resourceName, resourceDto) ->
+                resources.put(resourceName, resolveMethods(resourceDto, resourceConfigurationDto))));
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Check if this definition was resolved from the specified version of the resource configuration.
+     * @param id resource configuration id
+     * @param version resource configuration version
+     * @return true if same id and version
+     */
+    public boolean isVersion(final Long id, final Long version) {
+        return this.id.equals(id) && this.version.equals(version);
+    }
+
+    /**
+     * Get the definitions of all methods of a resource, keyed by case-insensitive method name.
+     * @param resource resource name
+     * @return unmodifiable map of method definitions, or empty if the resource does not exist
+     */
+    public Optional<Map<String, ResourceMethodDefinition>> getResourceMethods(final String resource) {
+        return Optional.ofNullable(resources.get(resource));
+    }
+
+    private static Map<String, ResourceMethodDefinition> resolveMethods(final ResourceDto resourceDto,
+                                                                       final ResourceConfigurationDto resourceConfigurationDto) {
+        final Map<String, ResourceMethodDefinition> methods = new LinkedCaseInsensitiveMap<>();
+        for (final Map.Entry<String, ResourceMethodPropertyDto> method : resourceDto.getMethods().entrySet()) {
+            methods.put(method.getKey(),
+                    new ResourceMethodDefinition(method.getKey(), method.getValue(), resourceDto, resourceConfigurationDto));
+        }
+        return Collections.unmodifiableMap(methods);
+    }
+}
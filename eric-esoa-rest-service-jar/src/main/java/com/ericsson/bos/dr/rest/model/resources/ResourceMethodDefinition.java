@@ -16,6 +16,7 @@
 package com.ericsson.bos.dr.rest.model.resources;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +25,7 @@ import java.util.Optional;
 import com.ericsson.bos.dr.rest.web.v1.api.model.ErrorHandlerDto;
 import com.ericsson.bos.dr.rest.web.v1.api.model.InboundPropertyDto;
 import com.ericsson.bos.dr.rest.web.v1.api.model.OutboundPropertyDto;
+import com.ericsson.bos.dr.rest.web.v1.api.model.RateLimitDto;
 import com.ericsson.bos.dr.rest.web.v1.api.model.ResourceConfigurationDto;
 import com.ericsson.bos.dr.rest.web.v1.api.model.ResourceDto;
 import com.ericsson.bos.dr.rest.web.v1.api.model.ResourceMethodPropertyDto;
@@ -31,13 +33,17 @@ import com.ericsson.bos.dr.rest.web.v1.api.model.RetryHandlerDto;
 
 /**
  * The definition for an individual resource method in the resource configuration.
+ * Instances are immutable and may be shared between concurrent runs of the resource method.
  */
 public class ResourceMethodDefinition {
 
     private final ResourceConfigurationDto resourceConfiguration;
     private final ResourceDto resourceDto;
-    private String methodName;
+    private final String methodName;
     private final ResourceMethodPropertyDto resourceMethod;
+    private final List<RetryHandlerDto> retryHandlers;
+    private final List<ErrorHandlerDto> errorHandlers;
+    private final Map<String, List<String>> requestHeaders;
 
     /**
      * ResourceMethodDefinition.
@@ -52,6 +58,41 @@ public class ResourceMethodDefinition {
         this.resourceDto = resourceDto;
         this.methodName = methodName;
         this.resourceMethod = resourceMethodPropertyDto;
+
+        final List<RetryHandlerDto> allRetryHandlers = new ArrayList<>();
+        Optional.ofNullable(resourceMethod.getRetryHandlers()).ifPresent(allRetryHandlers::addAll);
+        Optional.ofNullable(resourceConfiguration.getGlobalRetryHandlers()).ifPresent(allRetryHandlers::addAll);
+        this.retryHandlers = Collections.unmodifiableList(allRetryHandlers);
+
+        final List<ErrorHandlerDto> allErrorHandlers = new ArrayList<>();
+        Optional.ofNullable(resourceMethod.getErrorHandlers()).ifPresent(allErrorHandlers::addAll);
+        Optional.ofNullable(resourceConfiguration.getGlobalErrorHandlers()).ifPresent(allErrorHandlers::addAll);
+        this.errorHandlers = Collections.unmodifiableList(allErrorHandlers);
+
+        final Map<String, List<String>> allRequestHeaders = new HashMap<>();
+        Optional.ofNullable(resourceConfiguration.getGlobalRequestHeaders()).ifPresent(allRequestHeaders::putAll);
+        getInbound().map(InboundPropertyDto::getHeaders).ifPresent(allRequestHeaders::putAll);
+        this.requestHeaders = Collections.unmodifiableMap(allRequestHeaders);
+    }
+
+    private ResourceMethodDefinition(final String methodName, final ResourceMethodDefinition resourceMethodDefinition) {
+        this.resourceConfiguration = resourceMethodDefinition.resourceConfiguration;
+        this.resourceDto = resourceMethodDefinition.resourceDto;
+        this.methodName = methodName;
+        this.resourceMethod = resourceMethodDefinition.resourceMethod;
+        this.retryHandlers = resourceMethodDefinition.retryHandlers;
+        this.errorHandlers = resourceMethodDefinition.errorHandlers;
+        this.requestHeaders = resourceMethodDefinition.requestHeaders;
+    }
+
+    /**
+     * Get a copy of this definition, identified by a different method name.
+     * Used when the method name is requested in a different case to that in the resource configuration.
+     * @param methodName resource method name
+     * @return ResourceMethodDefinition
+     */
+    public ResourceMethodDefinition withMethodName(final String methodName) {
+        return new ResourceMethodDefinition(methodName, this);
     }
 
     public ResourceConfigurationDto getResourceConfiguration() {
@@ -62,6 +103,10 @@ public class ResourceMethodDefinition {
         return resourceDto.getPath();
     }
 
+    public Optional<RateLimitDto> getRateLimit() {
+        return Optional.ofNullable(resourceDto.getRateLimit());
+    }
+
     public ResourceMethodPropertyDto getMethod() {
         return resourceMethod;
     }
@@ -77,36 +122,29 @@ public class ResourceMethodDefinition {
     /**
      * Get all <code>RetryHandlerDto</code>. Includes both global and local retry handler definitions.
      * Local retry handler definitions will appear before the global in the returned.
-     * @return <code>RetryHandlerDto</code> list
+     * @return unmodifiable <code>RetryHandlerDto</code> list
      */
     public List<RetryHandlerDto> getRetryHandlers() {
-        final List<RetryHandlerDto> retryHandlers = Optional.ofNullable(resourceMethod.getRetryHandlers()).orElse(new ArrayList<>());
-        Optional.ofNullable(resourceConfiguration.getGlobalRetryHandlers()).ifPresent(retryHandlers::addAll);
         return retryHandlers;
     }
 
     /**
      * Get all <code>ErrorHandlerDto</code>. Includes both global and local error handler definitions.
      * Local error handler definitions will appear before the global in the returned.
-     * @return <code>ErrorHandlerDto</code> list
+     * @return unmodifiable <code>ErrorHandlerDto</code> list
      */
     public List<ErrorHandlerDto> getErrorHandlers() {
-        final List<ErrorHandlerDto> errorHandlers = Optional.ofNullable(resourceMethod.getErrorHandlers()).orElse(new ArrayList<>());
-        Optional.ofNullable(resourceConfiguration.getGlobalErrorHandlers()).ifPresent(errorHandlers::addAll);
         return errorHandlers;
     }
 
     /**
      * Get all request headers. Includes both the global and local headers.
      * If same header is defined in both the global and local definitions, then the local
-     * headers will take precedence.
+     * headers will take precedence. A new map is returned on each call, which the caller is free to modify.
      * @return header map
      */
     public Map<String, List<String>> getRequestHeaders() {
-        final Map<String, List<String>> requestHeaders =
-                Optional.ofNullable(resourceConfiguration.getGlobalRequestHeaders()).orElse(new HashMap<>());
-        getInbound().map(InboundPropertyDto::getHeaders).ifPresent(requestHeaders::putAll);
-        return requestHeaders;
+        return new HashMap<>(requestHeaders);
     }
 
     public String getMethodName() {
@@ -24,7 +24,6 @@ import static com.ericsson.bos.dr.rest.service.exceptions.ErrorCode.RESOURCE_NOT
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.StreamSupport;
 
@@ -36,7 +35,6 @@ import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.LinkedCaseInsensitiveMap;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.ericsson.bos.dr.rest.jpa.ResourceConfigurationRepository;
@@ -44,13 +42,12 @@ import com.ericsson.bos.dr.rest.jpa.model.ResourceConfigurationEntity;
 import com.ericsson.bos.dr.rest.model.mappers.ResourceConfigurationEntityMapper;
 import com.ericsson.bos.dr.rest.model.mappers.ResourceConfigurationMapper;
 import com.ericsson.bos.dr.rest.model.resources.ResourceMethodDefinition;
+import com.ericsson.bos.dr.rest.service.cache.ResourceConfigurationDefinitionCache;
 import com.ericsson.bos.dr.rest.service.exceptions.ErrorCode;
 import com.ericsson.bos.dr.rest.service.exceptions.RestServiceException;
 import com.ericsson.bos.dr.rest.service.utils.JSONSchema;
 import com.ericsson.bos.dr.rest.service.utils.YAML;
 import com.ericsson.bos.dr.rest.web.v1.api.model.ResourceConfigurationDto;
-import com.ericsson.bos.dr.rest.web.v1.api.model.ResourceDto;
-import com.ericsson.bos.dr.rest.web.v1.api.model.ResourceMethodPropertyDto;
 import com.networknt.schema.ValidationMessage;
 
 /**
@@ -64,6 +61,9 @@ public class ResourceConfigurationService {
     @Autowired
     private ResourceConfigurationRepository resourceConfigurationRepository;
 
+    @Autowired
+    private ResourceConfigurationDefinitionCache resourceConfigurationDefinitionCache;
+
     /**
      * Create a new resource configuration
      * @param file resource configuration yml file
@@ -88,7 +88,10 @@ public class ResourceConfigurationService {
      */
     public void deleteResourceConfiguration(final String resourceConfigurationName) {
         LOGGER.info("Starting delete resource configuration: {}", resourceConfigurationName);
-        resourceConfigurationRepository.deleteById(findResourceConfigurationByName(resourceConfigurationName).getId());
+        final Long id = resourceConfigurationRepository.findVersionByName(resourceConfigurationName)
+            .orElseThrow(() -> new RestServiceException(RESOURCE_CONFIGURATION_NOT_FOUND, resourceConfigurationName)).getId();
+        resourceConfigurationRepository.deleteById(id);
+        resourceConfigurationDefinitionCache.evict(resourceConfigurationName);
     }
 
     /**
@@ -146,36 +149,35 @@ public class ResourceConfigurationService {
         resourceConfigurationRepository.flush();
         final var updatedResourceConfigurationEntity = saveResourceConfiguration(
                 resourceConfigurationDto.getName(), resourceConfigurationDto.getDescription(), contents);
+        resourceConfigurationDefinitionCache.evict(name);
+        resourceConfigurationDefinitionCache.evict(resourceConfigurationDto.getName());
         return new ResourceConfigurationMapper().apply(updatedResourceConfigurationEntity);
     }
 
     /**
      * Get the definition of the specified resource method.
+     * The definition is resolved from the cached <code>ResourceConfigurationDefinition</code>, which is only
+     * reloaded from the database when the resource configuration version changes.
      * @param resourceConfigurationName resource configuration name
      * @param resource resource name
      * @param method resource method name
      * @return ResourceMethodDefinition
      */
     public ResourceMethodDefinition getResourceMethodDefinition(final String resourceConfigurationName, final String resource, final String method) {
-        final var resourceConfigurationEntity = findResourceConfigurationByName(resourceConfigurationName);
-        final var resourceDto = getResourceDto(resourceConfigurationName, resource, resourceConfigurationEntity);
-        if (StringUtils.isBlank(method) && resourceDto.getMethods().size() != 1) {
+        final Map<String, ResourceMethodDefinition> resourceMethods = getResourceMethods(resourceConfigurationName, resource);
+        if (StringUtils.isBlank(method) && resourceMethods.size() != 1) {
             throw new RestServiceException(METHOD_NAME_REQUIRED_IN_RUNREQUEST, resource);
         }
-        final String targetMethodName = Optional.ofNullable(method).orElseGet(() -> {
-            final String defaultName = resourceDto.getMethods().keySet().iterator().next();
-            LOGGER.info("No method name specified, defaulting to {}", defaultName);
-            return defaultName;
-        });
-        final Map<String, ResourceMethodPropertyDto> resourceMethods = new LinkedCaseInsensitiveMap<>();
-        resourceMethods.putAll(resourceDto.getMethods());
-        final ResourceMethodPropertyDto resourceMethod = resourceMethods.get(targetMethodName);
+        if (method == null) {
+            final ResourceMethodDefinition defaultMethod = resourceMethods.values().iterator().next();
+            LOGGER.info("No method name specified, defaulting to {}", defaultMethod.getMethodName());
+            return defaultMethod;
+        }
+        final ResourceMethodDefinition resourceMethod = resourceMethods.get(method);
         if (resourceMethod == null) {
             throw new RestServiceException(RESOURCE_METHOD_NOT_FOUND, method, resource);
         }
-
-        final ResourceConfigurationDto resourceConfigurationDto = new ResourceConfigurationMapper().apply(resourceConfigurationEntity);
-        return new ResourceMethodDefinition(targetMethodName, resourceMethod, resourceDto, resourceConfigurationDto);
+        return method.equals(resourceMethod.getMethodName()) ? resourceMethod : resourceMethod.withMethodName(method);
     }
 
     private ResourceConfigurationEntity findResourceConfigurationByName(final String resourceConfigurationName) {
@@ -206,16 +208,14 @@ public class ResourceConfigurationService {
         }
     }
 
-    private ResourceDto getResourceDto(final String resourceConfigurationName, final String resource,
-                                       final ResourceConfigurationEntity resourceConfiguration) {
+    private Map<String, ResourceMethodDefinition> getResourceMethods(final String resourceConfigurationName, final String resource) {
         LOGGER.info("Getting resource: {}", resource);
-        final var resourceDto = resourceConfiguration.getConfig().getResources().get(resource);
-        if (resourceDto == null) {
-            throw new RestServiceException(RESOURCE_NOT_FOUND, resource, resourceConfigurationName);
-        }
+        final Map<String, ResourceMethodDefinition> resourceMethods = resourceConfigurationDefinitionCache.get(resourceConfigurationName)
+            .getResourceMethods(resource)
+            .orElseThrow(() -> new RestServiceException(RESOURCE_NOT_FOUND, resource, resourceConfigurationName));
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Resource dto: {}", resourceDto);
+            LOGGER.debug("Resource methods: {}", resourceMethods.keySet());
         }
-        return resourceDto;
+        return resourceMethods;
     }
 }
@@ -15,11 +15,23 @@
  ******************************************************************************/
 package com.ericsson.bos.dr.rest.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
@@ -28,13 +40,29 @@ import com.ericsson.bos.dr.rest.service.auth.AuthenticationService;
 import com.ericsson.bos.dr.rest.service.connectivity.ConnectivityRetriever;
 import org.springframework.beans.factory.annotation.Qualifier;
 import com.ericsson.bos.dr.rest.service.connectivity.Subsystem;
+import com.ericsson.bos.dr.rest.service.exceptions.ErrorCode;
+import com.ericsson.bos.dr.rest.service.exceptions.RestServiceException;
 import com.ericsson.bos.dr.rest.service.http.HttpExecutor;
 import com.ericsson.bos.dr.rest.service.http.HttpRequest;
 import com.ericsson.bos.dr.rest.service.run.RunExecutionContext;
+import com.ericsson.bos.dr.rest.service.run.limiter.ConcurrencyLimiterRegistry;
+import com.ericsson.bos.dr.rest.service.run.limiter.RateLimiterRegistry;
 import com.ericsson.bos.dr.rest.service.run.request.HttpRequestConsumer;
 import com.ericsson.bos.dr.rest.service.run.response.HttpResponseConsumer;
 import com.ericsson.bos.dr.rest.service.run.response.HttpRunResponse;
+import com.ericsson.bos.dr.rest.web.v1.api.model.BatchRunItemDto;
+import com.ericsson.bos.dr.rest.web.v1.api.model.BatchRunRequestDto;
+import com.ericsson.bos.dr.rest.web.v1.api.model.BatchRunResponseDto;
+import com.ericsson.bos.dr.rest.web.v1.api.model.BatchRunResultDto;
+import com.ericsson.bos.dr.rest.web.v1.api.model.ErrorResponseDto;
+import com.ericsson.bos.dr.rest.web.v1.api.model.RetryHandlerDto;
 import com.ericsson.bos.dr.rest.web.v1.api.model.RunRequestDto;
+import com.ericsson.oss.orchestration.so.common.error.factory.ErrorMessageFactory;
+import com.ericsson.oss.orchestration.so.common.error.message.ErrorMessage;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Run service.
@@ -43,6 +71,8 @@ import com.ericsson.bos.dr.rest.web.v1.api.model.RunRequestDto;
 public class RunService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RunService.class);
+    private static final String BASE64_BODY_ENCODING = "base64";
+    private static final Set<String> TEXT_SUBTYPES = Set.of("json", "xml", "x-www-form-urlencoded", "javascript", "yaml", "x-yaml");
 
     @Autowired
     private ConnectivityRetriever connectivityRetriever;
@@ -63,18 +93,148 @@ public class RunService {
     @Qualifier("connected_system")
     private HttpExecutor httpExecutor;
 
+    @Autowired
+    @Qualifier("runScheduler")
+    private Scheduler runScheduler;
+
+    @Autowired
+    private ConcurrencyLimiterRegistry concurrencyLimiterRegistry;
+
+    @Autowired
+    private RateLimiterRegistry rateLimiterRegistry;
+
+    @Value("${service.run.streamOriginalResponse:true}")
+    private boolean streamOriginalResponse;
+
+    @Value("${service.run.batch.parallelism:10}")
+    private int batchParallelism;
+
+    @Value("${service.run.batch.maxItems:100}")
+    private int batchMaxItems;
+
     /**
      * Executes an API call towards a configured connected system.
+     * The resource configuration, connected system and authentication are resolved on the run scheduler,
+     * as these may block. The API call itself is non-blocking, and the response is then processed on the run
+     * scheduler so that substitutions are not executed on the http client event loop. When the original response
+     * is requested, and streaming is enabled, the response body is streamed to the client without being buffered.
+     * The number of concurrent API calls towards each connected system is limited by an adaptive concurrency limit,
+     * and the API call waits for a permit from the rate limits of the connected system and resource, if configured.
      *
      * @param connectivityConfigurationName name of the connected system, as configured in subsystem manager
      * @param resourceConfigurationName     name of the resource configuration to be used
      * @param resource                      name of the resource from the resource configuration to be used
      * @param runRequestDto                 Object containing the dynamic input information to create the contents of the API call
-     * @return Object representing the configurable response for the API call
+     * @return Mono of Object representing the configurable response for the API call
+     */
+    public Mono<ResponseEntity<Object>> run(final String connectivityConfigurationName, final String resourceConfigurationName,
+                                            final String resource, final RunRequestDto runRequestDto) {
+        return Mono.fromCallable(() -> createRunExecutionContext(connectivityConfigurationName, resourceConfigurationName, resource,
+                        runRequestDto))
+                .subscribeOn(runScheduler)
+                .flatMap(runExecutionContext -> execute(runExecutionContext, streamOriginalResponse));
+    }
+
+    /**
+     * Executes a batch of API calls towards configured connected systems.
+     * The items are executed concurrently, up to the configured parallelism. The resource method definition is resolved
+     * once for each distinct resource configuration, resource and method, and the connected system and authentication
+     * are resolved once for each distinct connected system. A failed item is returned as a result with the error,
+     * and does not fail the batch. A batch with more than the configured maximum number of items is rejected.
+     *
+     * @param batchRunRequestDto batch of run requests and their targets
+     * @return Mono of BatchRunResponseDto containing a result for each item, in the same order as the items
      */
-    public ResponseEntity<Object> run(final String connectivityConfigurationName, final String resourceConfigurationName, final String resource,
-                                      final RunRequestDto runRequestDto) {
+    public Mono<BatchRunResponseDto> runBatch(final BatchRunRequestDto batchRunRequestDto) {
+        if (batchRunRequestDto.getItems().size() > batchMaxItems) {
+            throw new RestServiceException(ErrorCode.BATCH_SIZE_EXCEEDED, String.valueOf(batchRunRequestDto.getItems().size()),
+                    String.valueOf(batchMaxItems));
+        }
+        LOGGER.info("Starting batch run: items={}", batchRunRequestDto.getItems().size());
+        final Map<ResourceMethodKey, Mono<ResourceMethodDefinition>> resourceMethods = new ConcurrentHashMap<>();
+        final Map<String, Mono<AuthenticatedSubsystem>> subsystems = new ConcurrentHashMap<>();
+        return Flux.fromIterable(batchRunRequestDto.getItems())
+                .flatMapSequential(item -> runBatchItem(item, resourceMethods, subsystems), batchParallelism)
+                .collectList()
+                .map(results -> new BatchRunResponseDto().results(results));
+    }
+
+    private Mono<BatchRunResultDto> runBatchItem(final BatchRunItemDto item,
+                                                 final Map<ResourceMethodKey, Mono<ResourceMethodDefinition>> resourceMethods,
+                                                 final Map<String, Mono<AuthenticatedSubsystem>> subsystems) {
+        final RunRequestDto runRequestDto = item.getRunRequest();
+        final Mono<ResourceMethodDefinition> resourceMethod = resourceMethods.computeIfAbsent(
+                new ResourceMethodKey(item.getResourceConfigurationName(), item.getResource(), runRequestDto.getMethod()),
+                key -> Mono.fromCallable(() -> resourceConfigurationService.getResourceMethodDefinition(
+                                key.resourceConfigurationName(), key.resource(), key.method()))
+                        .subscribeOn(runScheduler)
+                        .cache());
+        final Mono<AuthenticatedSubsystem> subsystem = subsystems.computeIfAbsent(item.getSubsystemName(),
+                name -> Mono.fromCallable(() -> authenticate(name))
+                        .subscribeOn(runScheduler)
+                        .cache());
+        return resourceMethod
+                .flatMap(definition -> subsystem.map(authenticated ->
+                        new RunExecutionContext(runRequestDto, definition, authenticated.subsystem(), authenticated.authToken())))
+                .flatMap(runExecutionContext -> execute(runExecutionContext, false))
+                .map(this::asBatchRunResult)
+                .onErrorResume(e -> Mono.just(asBatchRunResult(item, e)));
+    }
+
+    private AuthenticatedSubsystem authenticate(final String connectivityConfigurationName) {
+        final Subsystem subsystem = connectivityRetriever.getSubsystem(connectivityConfigurationName);
+        return new AuthenticatedSubsystem(subsystem, authenticationService.authenticate(subsystem));
+    }
 
+    /**
+     * Batch items are executed without streaming, so the body is either the transformed body as a String, or the original
+     * body as a byte array when the response format is ORIGINAL. An original text body is decoded with the charset of the
+     * response content type, and any other original body is base64 encoded.
+     */
+    private BatchRunResultDto asBatchRunResult(final ResponseEntity<Object> responseEntity) {
+        final var batchRunResultDto = new BatchRunResultDto()
+                .status(responseEntity.getStatusCode().value())
+                .headers(new LinkedHashMap<>(responseEntity.getHeaders()));
+        final Object body = responseEntity.getBody();
+        if (body == null || body instanceof String) {
+            return batchRunResultDto.body((String) body);
+        }
+        if (body instanceof byte[] bytes) {
+            final MediaType contentType = responseEntity.getHeaders().getContentType();
+            return isText(contentType)
+                    ? batchRunResultDto.body(new String(bytes, contentType == null || contentType.getCharset() == null
+                            ? StandardCharsets.UTF_8 : contentType.getCharset()))
+                    : batchRunResultDto.body(Base64.getEncoder().encodeToString(bytes)).bodyEncoding(BASE64_BODY_ENCODING);
+        }
+        throw new IllegalStateException("Unexpected batch run response body type: " + body.getClass().getName());
+    }
+
+    private static boolean isText(final MediaType contentType) {
+        if (contentType == null || contentType.getCharset() != null || "text".equals(contentType.getType())) {
+            return true;
+        }
+        final String subtype = contentType.getSubtype();
+        return TEXT_SUBTYPES.contains(subtype) || subtype.endsWith("+json") || subtype.endsWith("+xml");
+    }
+
+    private BatchRunResultDto asBatchRunResult(final BatchRunItemDto item, final Throwable throwable) {
+        LOGGER.error("Batch run item failed: connectedSystem={}, resourceConfiguration={}, resource={}",
+                item.getSubsystemName(), item.getResourceConfigurationName(), item.getResource(), throwable);
+        final Throwable cause = throwable.getCause() instanceof RestServiceException ? throwable.getCause() : throwable;
+        if (cause instanceof RestServiceException restServiceException) {
+            return asBatchRunResult(restServiceException.getHttpStatus().value(), restServiceException.getErrorMessage());
+        }
+        return asBatchRunResult(ErrorCode.GENERAL_ERROR.getHttpStatus().value(),
+                ErrorMessageFactory.buildFrom(ErrorCode.GENERAL_ERROR.getErrorCode(), ExceptionUtils.getRootCauseMessage(throwable)));
+    }
+
+    private BatchRunResultDto asBatchRunResult(final int status, final ErrorMessage errorMessage) {
+        return new BatchRunResultDto().status(status)
+                .error(new ErrorResponseDto().errorCode(errorMessage.getErrorCode()).errorMessage(errorMessage.getUserMessage()));
+    }
+
+    private RunExecutionContext createRunExecutionContext(final String connectivityConfigurationName, final String resourceConfigurationName,
+                                                          final String resource, final RunRequestDto runRequestDto) {
         LOGGER.info("Starting run: connectedSystem={}, resourceConfiguration={}, resource={}, runRequest={}",
                 connectivityConfigurationName, resourceConfigurationName, resource, runRequestDto);
 
@@ -83,19 +243,102 @@ public class RunService {
         final Subsystem subsystem = connectivityRetriever.getSubsystem(connectivityConfigurationName);
         final String authKey = authenticationService.authenticate(subsystem);
 
-        final RunExecutionContext runExecutionContext =
-                new RunExecutionContext(runRequestDto, resourceMethodDefinition, subsystem, authKey);
+        return new RunExecutionContext(runRequestDto, resourceMethodDefinition, subsystem, authKey);
+    }
 
-        final HttpRequest httpRequest = new HttpRequest();
-        httpRequestConsumers.forEach(consumer -> consumer.apply(httpRequest, runExecutionContext));
+    private Mono<ResponseEntity<Object>> execute(final RunExecutionContext runExecutionContext, final boolean streamOriginalResponse) {
+        return execute(runExecutionContext, streamOriginalResponse, true);
+    }
 
-        final ResponseEntity<byte[]> httpResponseEntity = httpExecutor.execute(httpRequest, resourceMethodDefinition.getRetryHandlers());
-        final HttpRunResponse httpRunResponse = new HttpRunResponse(httpResponseEntity, httpRequest);
+    private Mono<ResponseEntity<Object>> execute(final RunExecutionContext runExecutionContext, final boolean streamOriginalResponse,
+                                                 final boolean replayOnInvalidToken) {
+        Mono<HttpRequest> httpRequest = Mono.fromSupplier(() -> {
+            final var request = new HttpRequest();
+            request.setSubsystemName(runExecutionContext.getSubsystem().getName());
+            request.setResourceName(runExecutionContext.getResourceMethod().getResourceConfiguration().getName()
+                + "/" + runExecutionContext.getResourceMethod().getPath());
+            return request;
+        });
+        for (final HttpRequestConsumer consumer : httpRequestConsumers) {
+            httpRequest = httpRequest.doOnNext(request -> consumer.apply(request, runExecutionContext));
+        }
 
-        if (!"ORIGINAL".equalsIgnoreCase(runRequestDto.getResponseFormat())) {
-            httpResponseConsumers.forEach(consumer -> consumer.apply(httpRunResponse, runExecutionContext));
+        final boolean originalResponse = "ORIGINAL".equalsIgnoreCase(runExecutionContext.getRunRequest().getResponseFormat());
+        if (originalResponse && streamOriginalResponse) {
+            return httpRequest.flatMap(request -> executeStreamingRequest(request, runExecutionContext))
+                    .flatMap(responseEntity -> replayOnInvalidToken && isInvalidToken(runExecutionContext, responseEntity.getStatusCode().value())
+                            ? discardBody(responseEntity).then(reauthenticateAndExecute(runExecutionContext, streamOriginalResponse))
+                            : Mono.just(ResponseEntity.status(responseEntity.getStatusCode())
+                                    .headers(HttpRunResponse.reduceHeaders(responseEntity.getHeaders()))
+                                    .body(responseEntity.getBody())));
         }
 
-        return httpRunResponse.asResponseEntity();
+        return httpRequest.flatMap(request -> executeRequest(request, runExecutionContext)
+                        .map(responseEntity -> new HttpRunResponse(responseEntity, request)))
+                .flatMap(httpRunResponse -> replayOnInvalidToken && isInvalidToken(runExecutionContext, httpRunResponse.getOriginalStatusCode())
+                        ? reauthenticateAndExecute(runExecutionContext, streamOriginalResponse)
+                        : processResponse(httpRunResponse, runExecutionContext, originalResponse));
     }
-}
\ No newline at end of file
+
+    /**
+     * Execute the request once permitted by the rate limiters, limited by the concurrency limiter of the subsystem.
+     * Each retry of the request also requires a rate limit permit.
+     */
+    private Mono<ResponseEntity<byte[]>> executeRequest(final HttpRequest request, final RunExecutionContext runExecutionContext) {
+        final Mono<Void> rateLimitPermit = rateLimiterRegistry.acquirePermit(request, runExecutionContext);
+        final List<RetryHandlerDto> retryHandlers = runExecutionContext.getResourceMethod().getRetryHandlers();
+        return rateLimitPermit.then(concurrencyLimiterRegistry.execute(request.getSubsystemName(),
+                httpExecutor.executeAsync(request, retryHandlers, rateLimitPermit)));
+    }
+
+    private Mono<ResponseEntity<Flux<DataBuffer>>> executeStreamingRequest(final HttpRequest request,
+                                                                          final RunExecutionContext runExecutionContext) {
+        final Mono<Void> rateLimitPermit = rateLimiterRegistry.acquirePermit(request, runExecutionContext);
+        final List<RetryHandlerDto> retryHandlers = runExecutionContext.getResourceMethod().getRetryHandlers();
+        return rateLimitPermit.then(concurrencyLimiterRegistry.executeStreaming(request.getSubsystemName(),
+                httpExecutor.executeStreaming(request, retryHandlers, rateLimitPermit)));
+    }
+
+    private Mono<ResponseEntity<Object>> processResponse(final HttpRunResponse httpRunResponse, final RunExecutionContext runExecutionContext,
+                                                         final boolean originalResponse) {
+        if (originalResponse) {
+            return Mono.just(httpRunResponse.asResponseEntity());
+        }
+        return Mono.fromCallable(() -> {
+            for (final HttpResponseConsumer consumer : httpResponseConsumers) {
+                consumer.apply(httpRunResponse, runExecutionContext);
+            }
+            return httpRunResponse.asResponseEntity();
+        }).subscribeOn(runScheduler);
+    }
+
+    private Mono<Void> discardBody(final ResponseEntity<Flux<DataBuffer>> responseEntity) {
+        return responseEntity.getBody() == null ? Mono.empty() : responseEntity.getBody().doOnNext(DataBufferUtils::release).then();
+    }
+
+    private boolean isInvalidToken(final RunExecutionContext runExecutionContext, final int statusCode) {
+        return runExecutionContext.getAuthToken() != null
+                && authenticationService.isInvalidTokenStatus(runExecutionContext.getSubsystem(), statusCode);
+    }
+
+    /**
+     * The auth token has been rejected by the external system, for example if the token was revoked before its expiry.
+     * Invalidate the token, re-authenticate and replay the request once only.
+     */
+    private Mono<ResponseEntity<Object>> reauthenticateAndExecute(final RunExecutionContext runExecutionContext,
+                                                                  final boolean streamOriginalResponse) {
+        final Subsystem subsystem = runExecutionContext.getSubsystem();
+        LOGGER.info("Auth token rejected by connectedSystem={}, re-authenticating and replaying request", subsystem.getName());
+        return Mono.fromCallable(() -> {
+            authenticationService.invalidate(subsystem, runExecutionContext.getAuthToken());
+            return new RunExecutionContext(runExecutionContext.getRunRequest(), runExecutionContext.getResourceMethod(), subsystem,
+                    authenticationService.authenticate(subsystem));
+        })
+                .subscribeOn(runScheduler)
+                .flatMap(replayExecutionContext -> execute(replayExecutionContext, streamOriginalResponse, false));
+    }
+
+    private record ResourceMethodKey(String resourceConfigurationName, String resource, String method) {}
+
+    private record AuthenticatedSubsystem(Subsystem subsystem, String authToken) {}
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import com.ericsson.bos.dr.rest.service.auth.AuthenticationService;
+import com.ericsson.bos.dr.rest.service.connectivity.Subsystem;
+import com.ericsson.bos.dr.rest.service.http.HttpExecutor;
+import com.ericsson.bos.dr.rest.service.http.circuitbreaker.CircuitBreakerRegistry;
+import com.ericsson.bos.dr.rest.service.http.retry.RetryBudgetRegistry;
+import com.ericsson.bos.dr.rest.service.run.limiter.ConcurrencyLimiterRegistry;
+import com.ericsson.bos.dr.rest.service.run.limiter.RateLimiterRegistry;
+import com.ericsson.bos.dr.rest.web.v1.api.model.SubsystemEventDto;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+/**
+ * Process subsystem change events from subsystem manager.
+ * The cached subsystem, and any cached subsystem which uses it as its auth subsystem, are evicted from the
+ * subsystem_cache together with their auth tokens, so that the changed connection properties are used on the next run.
+ * The subsystem is also evicted from the auth_subsystem_cache. The connection pool of a deleted subsystem is disposed,
+ * and its circuit breakers, concurrency limiter, rate limiters and retry budget are removed together with their meters.
+ * <p>
+ * The caches are local to each replica, and an event only evicts the entries of the replica which receives it. The event
+ * is not propagated to the other replicas, so subsystem manager must send each event to every replica, for example
+ * by resolving the pod addresses of the service rather than posting to the load balanced service address. A replica
+ * which misses an event continues to use the cached subsystem until it is reloaded after the refresh interval of the
+ * subsystem_cache, and the cached auth token until it expires or is rejected by the connected system.
+ * </p>
+ */
+@Service
+public class SubsystemEventService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubsystemEventService.class);
+
+    @Autowired
+    @Qualifier("subsystemCache")
+    private CaffeineCache subsystemCache;
+
+    @Autowired
+    @Qualifier("authSubsystemCache")
+    private CaffeineCache authSubsystemCache;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    @Qualifier("connected_system")
+    private HttpExecutor httpExecutor;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private ConcurrencyLimiterRegistry concurrencyLimiterRegistry;
+
+    @Autowired
+    private RateLimiterRegistry rateLimiterRegistry;
+
+    @Autowired
+    private RetryBudgetRegistry retryBudgetRegistry;
+
+    /**
+     * Process a subsystem change event.
+     * For an updated subsystem, the evicted subsystems are then reloaded in the background.
+     *
+     * @param subsystemEvent subsystem event
+     */
+    public void processSubsystemEvent(final SubsystemEventDto subsystemEvent) {
+        final String subsystemName = subsystemEvent.getSubsystemName();
+        LOGGER.info("Received {} event for subsystem {}", subsystemEvent.getEventType(), subsystemName);
+        // evict the auth subsystem first, so that the affected subsystems are reloaded with the changed auth subsystem
+        authSubsystemCache.evict(subsystemName);
+        final List<Map.Entry<Object, Object>> affectedEntries = subsystemCache.getNativeCache().asMap().entrySet().stream()
+                .filter(entry -> isAffected((Subsystem) entry.getValue(), subsystemName))
+                .toList();
+        for (final Map.Entry<Object, Object> entry : affectedEntries) {
+            subsystemCache.evict(entry.getKey());
+            authenticationService.invalidate((Subsystem) entry.getValue());
+            LOGGER.info("Evicted subsystem {}", entry.getKey());
+        }
+        if (SubsystemEventDto.EventTypeEnum.UPDATED.equals(subsystemEvent.getEventType())) {
+            final LoadingCache<Object, Object> loadingCache = (LoadingCache<Object, Object>) subsystemCache.getNativeCache();
+            affectedEntries.forEach(entry -> loadingCache.refresh(entry.getKey()));
+        } else if (SubsystemEventDto.EventTypeEnum.DELETED.equals(subsystemEvent.getEventType())) {
+            httpExecutor.removeConnectionPool(subsystemName);
+            circuitBreakerRegistry.removeCircuitBreakers(subsystemName);
+            concurrencyLimiterRegistry.removeConcurrencyLimiter(subsystemName);
+            rateLimiterRegistry.removeRateLimiters(subsystemName);
+            retryBudgetRegistry.removeRetryBudget(subsystemName);
+        }
+    }
+
+    private boolean isAffected(final Subsystem subsystem, final String subsystemName) {
+        return subsystemName.equals(subsystem.getName())
+                || subsystem.getAuthSubsystem().map(Subsystem::getName).filter(subsystemName::equals).isPresent();
+    }
+}
@@ -43,6 +43,8 @@ import com.ericsson.bos.dr.rest.service.exceptions.RestServiceException;
 import com.ericsson.bos.dr.rest.service.http.HttpExecutor;
 import com.ericsson.bos.dr.rest.service.http.HttpRequest;
 import com.ericsson.bos.dr.rest.service.utils.JSON;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 /**
  * Abstract auth handler
@@ -64,9 +66,18 @@ public abstract class AbstractAuthHandler implements AuthHandler {
         return subsystem.getConnection().getAuthKey();
     }
 
+    /**
+     * Subsystems which have been validated. A reloaded subsystem is a new instance, so is validated again.
+     * The keys are weak and compared by identity, so subsystems no longer referenced are removed.
+     */
+    private final Cache<Subsystem, Boolean> validatedSubsystems = Caffeine.newBuilder().weakKeys().build();
+
     @Override
     public String getAuthToken(final Subsystem subsystem, final String authKey) {
-        validate(subsystem);
+        if (validatedSubsystems.getIfPresent(subsystem) == null) {
+            validate(subsystem);
+            validatedSubsystems.put(subsystem, Boolean.TRUE);
+        }
         final var tokenData = tokenCache.getTokenData(authKey, () -> generateTokenData(subsystem));
         return tokenData.getToken();
     }
@@ -115,6 +126,7 @@ public abstract class AbstractAuthHandler implements AuthHandler {
         final var httpRequest = new HttpRequest();
         final var connectionProperties = subsystem.getConnection();
         httpRequest.setUrl(subsystem.getJoinedAuthUrl());
+        httpRequest.setSubsystemName(subsystem.getName());
         httpRequest.setMethod(connectionProperties.getAuthMethod());
         httpRequest.setEncodeUrl(true);
         final HttpHeaders headers = new HttpHeaders();
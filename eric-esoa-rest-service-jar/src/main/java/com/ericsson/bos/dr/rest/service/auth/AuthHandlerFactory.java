@@ -16,7 +16,12 @@
 package com.ericsson.bos.dr.rest.service.auth;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -32,18 +37,31 @@ public class AuthHandlerFactory {
     @Autowired
     private List<AuthHandler> authHandlers;
 
+    private Map<String, AuthHandler> authHandlersByType;
+
+    /**
+     * Index the auth handlers by their normalised auth type.
+     */
+    @PostConstruct
+    void indexAuthHandlers() {
+        authHandlersByType = authHandlers.stream()
+            .collect(Collectors.toUnmodifiableMap(a -> normalise(a.authType()), Function.identity()));
+    }
+
     /**
      * Factory method to get auth handler implementation
      * @param authHandlerType Auth type to determine the correct implementation
      * @return AuthHandler implementation
      */
     public AuthHandler get(final String authHandlerType) {
-        return authHandlers.stream()
-            .filter(a -> authHandlerType.equalsIgnoreCase(a.authType()))
-            .findFirst()
-            .orElseThrow(
-                () -> new RestServiceException(ErrorCode.AUTH_HANDLER_NOT_SUPPORTED, authHandlerType)
-            );
+        final AuthHandler authHandler = authHandlerType == null ? null : authHandlersByType.get(normalise(authHandlerType));
+        if (authHandler == null) {
+            throw new RestServiceException(ErrorCode.AUTH_HANDLER_NOT_SUPPORTED, authHandlerType);
+        }
+        return authHandler;
     }
 
+    private static String normalise(final String authType) {
+        return authType.toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.auth;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties to configure, per auth type, the response status codes from an external system which
+ * indicate that the auth token is no longer valid. When such a status is received, the cached token is invalidated
+ * and the request is replayed once with a new token. No status codes are configured by default, as a status such as 401
+ * may also be returned for reasons other than a revoked token, in which case each request would force a new login.
+ */
+@ConfigurationProperties(prefix = "service.auth-token.invalidation")
+@Configuration
+public class AuthTokenInvalidationProperties {
+
+    private final Map<String, Set<Integer>> statusCodes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    public Map<String, Set<Integer>> getStatusCodes() {
+        return statusCodes;
+    }
+
+    /**
+     * Set the status codes, keyed by auth type.
+     * @param statusCodes status codes
+     */
+    public void setStatusCodes(final Map<String, Set<Integer>> statusCodes) {
+        this.statusCodes.clear();
+        this.statusCodes.putAll(statusCodes);
+    }
+
+    /**
+     * Check if the response status indicates that the auth token is no longer valid.
+     * @param authType auth type
+     * @param statusCode response status code
+     * @return true if the auth token is no longer valid
+     */
+    public boolean isInvalidTokenStatus(final String authType, final int statusCode) {
+        return authType != null && statusCodes.getOrDefault(authType, Set.of()).contains(statusCode);
+    }
+}
@@ -16,8 +16,11 @@
 package com.ericsson.bos.dr.rest.service.auth;
 
 
+import com.ericsson.bos.dr.rest.service.cache.TokenCache;
 import com.ericsson.bos.dr.rest.service.connectivity.Subsystem;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -27,9 +30,17 @@ import org.springframework.stereotype.Component;
 @Component
 public class AuthenticationService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuthenticationService.class);
+
     @Autowired
     private AuthHandlerFactory authHandlerFactory;
 
+    @Autowired
+    private TokenCache tokenCache;
+
+    @Autowired
+    private AuthTokenInvalidationProperties authTokenInvalidationProperties;
+
     /**
      * Authenticate towards external system using the auth properties defined for the subsystem.
      * If the 'auth.subsystemName' property points to an auth subsystem then fetch that subsystem
@@ -39,13 +50,56 @@ public class AuthenticationService {
      */
     public String authenticate(final Subsystem subsystem) {
         final Subsystem authSubsystem = subsystem.getAuthSubsystem().orElse(subsystem);
-        final var authHandler = authHandlerFactory.get(authSubsystem.getConnection().getAuthType());
+        final var authHandler = authHandlerFactory.get(subsystem.getConnectionProfile().authType());
         final String authKey = authHandler.getAuthKey(authSubsystem);
         if (StringUtils.isNotBlank(authKey)) {
-            final String uniqueTokenCacheKey = authSubsystem.getName().concat("_").concat(authKey);
-            return authHandler.getAuthToken(authSubsystem, uniqueTokenCacheKey);
+            return authHandler.getAuthToken(authSubsystem, getTokenCacheKey(authSubsystem, authKey));
         }
         return null;
     }
 
+    /**
+     * Check if the response status received from the external system indicates that the auth token
+     * is no longer valid, as configured for the auth type of the subsystem.
+     * @param subsystem original subsystem
+     * @param statusCode response status code
+     * @return true if the auth token is no longer valid
+     */
+    public boolean isInvalidTokenStatus(final Subsystem subsystem, final int statusCode) {
+        return authTokenInvalidationProperties.isInvalidTokenStatus(subsystem.getConnectionProfile().authType(), statusCode);
+    }
+
+    /**
+     * Invalidate the auth token for the subsystem, so that a new token is generated on the next authentication.
+     * The cached token is only invalidated if it is the rejected token, so that a token which has already been
+     * regenerated by a concurrent request is not invalidated.
+     * @param subsystem original subsystem
+     * @param rejectedAuthToken auth token rejected by the external system
+     */
+    public void invalidate(final Subsystem subsystem, final String rejectedAuthToken) {
+        final Subsystem authSubsystem = subsystem.getAuthSubsystem().orElse(subsystem);
+        final var authHandler = authHandlerFactory.get(subsystem.getConnectionProfile().authType());
+        final String authKey = authHandler.getAuthKey(authSubsystem);
+        if (StringUtils.isNotBlank(authKey) && tokenCache.evict(getTokenCacheKey(authSubsystem, authKey), rejectedAuthToken)) {
+            LOGGER.info("Invalidated auth token for subsystem {}", authSubsystem.getName());
+        }
+    }
+
+    /**
+     * Invalidate the auth token for the subsystem, so that a new token is generated on the next authentication.
+     * @param subsystem original subsystem
+     */
+    public void invalidate(final Subsystem subsystem) {
+        final Subsystem authSubsystem = subsystem.getAuthSubsystem().orElse(subsystem);
+        final var authHandler = authHandlerFactory.get(subsystem.getConnectionProfile().authType());
+        final String authKey = authHandler.getAuthKey(authSubsystem);
+        if (StringUtils.isNotBlank(authKey) && tokenCache.evict(getTokenCacheKey(authSubsystem, authKey))) {
+            LOGGER.info("Invalidated auth token for subsystem {}", authSubsystem.getName());
+        }
+    }
+
+    private String getTokenCacheKey(final Subsystem authSubsystem, final String authKey) {
+        return authSubsystem.getName().concat("_").concat(authKey);
+    }
+
 }
\ No newline at end of file
@@ -20,6 +20,8 @@ import java.util.concurrent.TimeUnit;
 
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.context.annotation.Bean;
@@ -27,8 +29,10 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
 import com.ericsson.bos.dr.rest.service.auth.TokenData;
+import com.ericsson.bos.dr.rest.service.connectivity.ConnectivityRetriever;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.Expiry;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Cache Configuration
@@ -40,6 +44,9 @@ public class CacheConfiguration {
     @Value("${service.connected-system.cache.accessExpiry}")
     private long subsystemCacheAccessExpiry;
 
+    @Value("${service.connected-system.cache.refreshAfterWrite:10}")
+    private long subsystemCacheRefreshAfterWrite;
+
     /**
      * auth_token_cache bean
      * @return CaffeineCache bean
@@ -69,7 +76,8 @@ public class CacheConfiguration {
                             @NonNull Object tokenData,
                             long currentTime,
                             @NonNegative long currentDuration) {
-                            return currentDuration;
+                            // a refreshed token replaces the existing token, and so expires according to its own lifetime
+                            return expireAfterCreate(key, tokenData, currentTime);
                         }
 
                         @Override
@@ -86,15 +94,57 @@ public class CacheConfiguration {
 
     /**
      * subsystem_cache bean
+     * Subsystems are loaded on a cache miss and, once older than the refresh interval, are reloaded in the
+     * background on the next access while the cached subsystem continues to be returned. If the reload fails,
+     * then the cached subsystem is kept and the reload is attempted again on a subsequent access.
+     * @param connectivityRetriever retriever used to load the subsystems
+     * @param refreshScheduler scheduler on which subsystems are reloaded
      * @return CaffeineCache bean
      */
     @Bean
-    public CaffeineCache subsystemCache() {
+    public CaffeineCache subsystemCache(final ObjectProvider<ConnectivityRetriever> connectivityRetriever,
+                                        @Qualifier("runScheduler") final Scheduler refreshScheduler) {
         return new CaffeineCache("subsystem_cache",
             Caffeine.newBuilder()
                 .initialCapacity(20)
                 .maximumSize(1000)
                 .expireAfterAccess(subsystemCacheAccessExpiry, TimeUnit.SECONDS)
+                .refreshAfterWrite(subsystemCacheRefreshAfterWrite, TimeUnit.SECONDS)
+                .executor(refreshScheduler::schedule)
+                .build(subsystemName -> connectivityRetriever.getObject().loadSubsystem((String) subsystemName)));
+    }
+
+    /**
+     * auth_subsystem_cache bean
+     * Auth subsystems are cached independently of the subsystems which reference them, so that an auth subsystem
+     * is only fetched once for all such subsystems. They are loaded and refreshed in the same way as subsystems.
+     * @param connectivityRetriever retriever used to load the auth subsystems
+     * @param refreshScheduler scheduler on which auth subsystems are reloaded
+     * @return CaffeineCache bean
+     */
+    @Bean
+    public CaffeineCache authSubsystemCache(final ObjectProvider<ConnectivityRetriever> connectivityRetriever,
+                                            @Qualifier("runScheduler") final Scheduler refreshScheduler) {
+        return new CaffeineCache("auth_subsystem_cache",
+            Caffeine.newBuilder()
+                .initialCapacity(20)
+                .maximumSize(1000)
+                .expireAfterAccess(subsystemCacheAccessExpiry, TimeUnit.SECONDS)
+                .refreshAfterWrite(subsystemCacheRefreshAfterWrite, TimeUnit.SECONDS)
+                .executor(refreshScheduler::schedule)
+                .build(subsystemName -> connectivityRetriever.getObject().loadAuthSubsystem((String) subsystemName)));
+    }
+
+    /**
+     * resource_configuration_cache bean
+     * @return CaffeineCache bean
+     */
+    @Bean
+    public CaffeineCache resourceConfigurationCache() {
+        return new CaffeineCache("resource_configuration_cache",
+            Caffeine.newBuilder()
+                .initialCapacity(20)
+                .maximumSize(1000)
                 .build());
     }
 
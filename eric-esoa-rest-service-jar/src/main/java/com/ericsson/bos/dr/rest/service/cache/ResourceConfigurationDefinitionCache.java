@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.cache;
+
+import static com.ericsson.bos.dr.rest.service.exceptions.ErrorCode.RESOURCE_CONFIGURATION_NOT_FOUND;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ericsson.bos.dr.rest.jpa.ResourceConfigurationRepository;
+import com.ericsson.bos.dr.rest.jpa.model.ResourceConfigurationVersion;
+import com.ericsson.bos.dr.rest.model.resources.ResourceConfigurationDefinition;
+import com.ericsson.bos.dr.rest.service.exceptions.RestServiceException;
+
+/**
+ * ResourceConfigurationDefinition cache.
+ * Loads and resolves the resource configuration on first use, and reuses the resolved definition
+ * for as long as the id and version of the stored resource configuration are unchanged.
+ * The stored version is checked at most once per <code>versionCheckInterval</code> seconds, so that
+ * changes made by other service instances are detected. Local changes evict the entry immediately.
+ */
+@Component
+public class ResourceConfigurationDefinitionCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceConfigurationDefinitionCache.class);
+
+    @Autowired
+    private ResourceConfigurationRepository resourceConfigurationRepository;
+
+    @Autowired
+    @Qualifier("resourceConfigurationCache")
+    private CaffeineCache resourceConfigurationCache;
+
+    @Value("${service.resource-configuration.cache.versionCheckInterval:5}")
+    private long versionCheckInterval;
+
+    /**
+     * Get the resolved definition of the latest version of a resource configuration.
+     * @param resourceConfigurationName resource configuration name
+     * @return ResourceConfigurationDefinition
+     */
+    public ResourceConfigurationDefinition get(final String resourceConfigurationName) {
+        final var cached = resourceConfigurationCache.get(resourceConfigurationName, VersionedDefinition.class);
+        if (cached != null && !cached.isVersionCheckDue()) {
+            return cached.definition;
+        }
+        final ResourceConfigurationVersion currentVersion = resourceConfigurationRepository.findVersionByName(resourceConfigurationName)
+                .orElseThrow(() -> {
+                    resourceConfigurationCache.evict(resourceConfigurationName);
+                    return new RestServiceException(RESOURCE_CONFIGURATION_NOT_FOUND, resourceConfigurationName);
+                });
+        if (cached != null && cached.definition.isVersion(currentVersion.getId(), currentVersion.getVersion())) {
+            cached.versionChecked();
+            return cached.definition;
+        }
+        LOGGER.info("Loading resource configuration {}, version {}", resourceConfigurationName, currentVersion.getVersion());
+        final var resourceConfigurationEntity = resourceConfigurationRepository.findByName(resourceConfigurationName)
+                .orElseThrow(() -> new RestServiceException(RESOURCE_CONFIGURATION_NOT_FOUND, resourceConfigurationName));
+        final var definition = new ResourceConfigurationDefinition(resourceConfigurationEntity);
+        resourceConfigurationCache.put(resourceConfigurationName, new VersionedDefinition(definition));
+        return definition;
+    }
+
+    /**
+     * Evict the definition of a resource configuration. If called within a transaction then the eviction
+     * is deferred until the transaction has committed, so a concurrent run cannot reload the old version.
+     * @param resourceConfigurationName resource configuration name
+     */
+    public void evict(final String resourceConfigurationName) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    resourceConfigurationCache.evict(resourceConfigurationName);
+                }
+            });
+        } else {
+            resourceConfigurationCache.evict(resourceConfigurationName);
+        }
+    }
+
+    private final class VersionedDefinition {
+
+        private final ResourceConfigurationDefinition definition;
+        private volatile long versionCheckedAt;
+
+        private VersionedDefinition(final ResourceConfigurationDefinition definition) {
+            this.definition = definition;
+            this.versionCheckedAt = System.nanoTime();
+        }
+
+        private boolean isVersionCheckDue() {
+            return System.nanoTime() - versionCheckedAt >= TimeUnit.SECONDS.toNanos(versionCheckInterval);
+        }
+
+        private void versionChecked() {
+            this.versionCheckedAt = System.nanoTime();
+        }
+    }
+}
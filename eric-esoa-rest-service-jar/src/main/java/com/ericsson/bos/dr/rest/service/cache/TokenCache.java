@@ -15,32 +15,228 @@
  ******************************************************************************/
 package com.ericsson.bos.dr.rest.service.cache;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
-import org.springframework.cache.annotation.Cacheable;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.stereotype.Component;
 
 import com.ericsson.bos.dr.rest.service.auth.TokenData;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.scheduler.Scheduler;
+
 /**
  * TokenData cache.
  * Loads cache with <code>TokenData</code> from supplier on first call or when entry has expired.
- * Retrieves TokenData from cache on subsequent calls
+ * Retrieves TokenData from cache on subsequent calls.
+ * Loading is single-flight per auth key, so that only one request for a token is sent to the external system
+ * at a time, while concurrent callers for the same auth key wait for and share its result. Loading is not done
+ * while holding a lock in the cache, so loading a token does not block callers for other auth keys.
+ * <p>
+ * A token with an expiry is refreshed in the background once the configured fraction of its lifetime has elapsed,
+ * while the existing token continues to be returned. If the refresh fails, the existing token continues to be returned
+ * and the refresh is not attempted again until the configured retry interval has elapsed. If the token expires first,
+ * then it is loaded synchronously.
+ * </p>
  */
 @Component
 public class TokenCache {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenCache.class);
+
+    @Autowired
+    @Qualifier("authTokenCache")
+    private CaffeineCache authTokenCache;
+
+    @Autowired
+    @Qualifier("runScheduler")
+    private Scheduler refreshScheduler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${service.auth-token.cache.refreshAheadFactor:0.8}")
+    private double refreshAheadFactor;
+
+    @Value("${service.auth-token.cache.refreshRetryInterval:30s}")
+    private Duration refreshRetryInterval;
+
+    private final Map<String, CompletableFuture<TokenData>> loadsInFlight = new ConcurrentHashMap<>();
+    private final Map<String, Long> refreshRetryTimes = new ConcurrentHashMap<>();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private Counter waitsCounter;
+    private Timer loadTimer;
+    private Counter refreshSuccessCounter;
+    private Counter refreshFailureCounter;
+
+    /**
+     * Register the token load metrics.
+     */
+    @PostConstruct
+    void registerMetrics() {
+        meterRegistry.gauge("auth_token_cache_load_waiters", waiters);
+        waitsCounter = Counter.builder("auth_token_cache_load_waits")
+                .description("Number of requests which waited for a token being loaded by another request")
+                .register(meterRegistry);
+        loadTimer = Timer.builder("auth_token_cache_load")
+                .description("Time taken to load a token from the external system")
+                .register(meterRegistry);
+        refreshSuccessCounter = Counter.builder("auth_token_cache_refresh_ahead")
+                .description("Number of tokens refreshed in the background ahead of expiry")
+                .tag("result", "success")
+                .register(meterRegistry);
+        refreshFailureCounter = Counter.builder("auth_token_cache_refresh_ahead")
+                .description("Number of tokens refreshed in the background ahead of expiry")
+                .tag("result", "failure")
+                .register(meterRegistry);
+    }
+
     /**
      * Loads cache with <code>TokenData</code> from supplier on first call or when entry has expired.
-     * Retrieves TokenData from cache on subsequent calls
+     * Retrieves TokenData from cache on subsequent calls. If the TokenData is already being loaded for the
+     * auth key, then waits for and returns the result of that load. If the cached TokenData is due to be
+     * refreshed, then the refresh is started in the background and the cached TokenData is returned.
      *
      * @param authKey key for which to retrieve the TokenData
      * @param tokenDataSupplier the TokenData supplier
      * @return the TokenData
      */
-    @Cacheable(value = "auth_token_cache", key = "#authKey")
     public TokenData getTokenData(String authKey, Supplier<TokenData> tokenDataSupplier) {
-        return tokenDataSupplier.get();
+        final TokenData cached = authTokenCache.get(authKey, TokenData.class);
+        if (cached != null) {
+            if (isRefreshAheadDue(authKey, cached)) {
+                refreshAsync(authKey, tokenDataSupplier);
+            }
+            return cached;
+        }
+        final var load = new CompletableFuture<TokenData>();
+        final CompletableFuture<TokenData> loadInFlight = loadsInFlight.putIfAbsent(authKey, load);
+        if (loadInFlight != null) {
+            return awaitLoad(loadInFlight);
+        }
+        try {
+            // the token may have been loaded and the in flight load removed since the cache was checked
+            TokenData tokenData = authTokenCache.get(authKey, TokenData.class);
+            if (tokenData == null) {
+                tokenData = loadTimer.record(tokenDataSupplier);
+                if (tokenData != null) {
+                    authTokenCache.put(authKey, tokenData);
+                }
+                refreshRetryTimes.remove(authKey);
+            }
+            load.complete(tokenData);
+            return tokenData;
+        } catch (final RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loadsInFlight.remove(authKey, load);
+        }
     }
 
+    /**
+     * Evict the TokenData for the auth key.
+     *
+     * @param authKey key for which to evict the TokenData
+     * @return true if the TokenData was evicted
+     */
+    public boolean evict(final String authKey) {
+        return authTokenCache.evictIfPresent(authKey);
+    }
+
+    /**
+     * Evict the TokenData for the auth key, if the cached token is the given token.
+     *
+     * @param authKey key for which to evict the TokenData
+     * @param token the token to be evicted
+     * @return true if the TokenData was evicted
+     */
+    public boolean evict(final String authKey, final String token) {
+        final TokenData cached = authTokenCache.get(authKey, TokenData.class);
+        return cached != null && Objects.equals(cached.getToken(), token)
+                && authTokenCache.getNativeCache().asMap().remove(authKey, cached);
+    }
+
+    private TokenData awaitLoad(final CompletableFuture<TokenData> load) {
+        waitsCounter.increment();
+        waiters.incrementAndGet();
+        try {
+            return load.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    private boolean isRefreshAheadDue(final String authKey, final TokenData tokenData) {
+        if (refreshAheadFactor <= 0 || refreshAheadFactor >= 1 || tokenData.getExpireSeconds() == null
+                || loadsInFlight.containsKey(authKey) || isRefreshBackingOff(authKey)) {
+            return false;
+        }
+        final double refreshAheadNanos = TimeUnit.SECONDS.toNanos(tokenData.getExpireSeconds()) * (1 - refreshAheadFactor);
+        return authTokenCache.getNativeCache().policy().expireVariably()
+                .flatMap(expiry -> expiry.getExpiresAfter(authKey))
+                .map(remaining -> remaining.toNanos() <= refreshAheadNanos)
+                .orElse(false);
+    }
+
+    private boolean isRefreshBackingOff(final String authKey) {
+        final Long retryTime = refreshRetryTimes.get(authKey);
+        return retryTime != null && System.nanoTime() - retryTime < 0;
+    }
+
+    private void refreshAsync(final String authKey, final Supplier<TokenData> tokenDataSupplier) {
+        final var load = new CompletableFuture<TokenData>();
+        if (loadsInFlight.putIfAbsent(authKey, load) != null) {
+            return;
+        }
+        try {
+            refreshScheduler.schedule(() -> refresh(authKey, tokenDataSupplier, load));
+        } catch (final RejectedExecutionException e) {
+            loadsInFlight.remove(authKey, load);
+            load.completeExceptionally(e);
+        }
+    }
+
+    private void refresh(final String authKey, final Supplier<TokenData> tokenDataSupplier, final CompletableFuture<TokenData> load) {
+        try {
+            LOGGER.debug("Refreshing token ahead of expiry: {}", authKey);
+            final TokenData tokenData = loadTimer.record(tokenDataSupplier);
+            if (tokenData != null) {
+                authTokenCache.put(authKey, tokenData);
+            }
+            refreshRetryTimes.remove(authKey);
+            refreshSuccessCounter.increment();
+            load.complete(tokenData);
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Failed to refresh token ahead of expiry: {}. The existing token is used until the refresh is retried in {}"
+                    + " or the token expires", authKey, refreshRetryInterval, e);
+            refreshRetryTimes.put(authKey, System.nanoTime() + refreshRetryInterval.toNanos());
+            refreshFailureCounter.increment();
+            load.completeExceptionally(e);
+        } finally {
+            loadsInFlight.remove(authKey, load);
+        }
+    }
 }
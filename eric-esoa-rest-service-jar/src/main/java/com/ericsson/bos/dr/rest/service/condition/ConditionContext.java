@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.condition;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpHeaders;
+
+import com.ericsson.bos.dr.rest.service.utils.JSON;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+
+/**
+ * The response against which a <code>ResponseCondition</code> is evaluated.
+ * The body is parsed as json once only, and only if required by a condition.
+ */
+public class ConditionContext {
+
+    private final Integer statusCode;
+    private final HttpHeaders headers;
+    private final Supplier<String> body;
+    private final boolean connectionFailure;
+    private JsonNode bodyNode;
+
+    /**
+     * ConditionContext.
+     * @param statusCode response status code, or null if no response was received
+     * @param headers response headers
+     * @param body response body supplier, called only if the body is required
+     * @param connectionFailure true if the connection timed out or was refused
+     */
+    public ConditionContext(final Integer statusCode, final HttpHeaders headers, final Supplier<String> body,
+                            final boolean connectionFailure) {
+        this.statusCode = statusCode;
+        this.headers = headers != null ? headers : HttpHeaders.EMPTY;
+        this.body = body;
+        this.connectionFailure = connectionFailure;
+    }
+
+    public Integer getStatusCode() {
+        return statusCode;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    public boolean isConnectionFailure() {
+        return connectionFailure;
+    }
+
+    /**
+     * Get the response body as a json node.
+     * @return body json node, or <code>NullNode</code> if the body is empty or not valid json
+     */
+    public JsonNode getBodyNode() {
+        if (bodyNode == null) {
+            bodyNode = readBody();
+        }
+        return bodyNode;
+    }
+
+    private JsonNode readBody() {
+        final String bodyValue = body.get();
+        if (bodyValue == null || bodyValue.isBlank()) {
+            return NullNode.getInstance();
+        }
+        try {
+            final JsonNode jsonNode = JSON.read(bodyValue, JsonNode.class);
+            return jsonNode != null ? jsonNode : NullNode.getInstance();
+        } catch (final IllegalStateException e) {
+            return NullNode.getInstance();
+        }
+    }
+}
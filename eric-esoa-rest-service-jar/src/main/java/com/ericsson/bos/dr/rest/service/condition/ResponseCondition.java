@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.condition;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+import com.ericsson.bos.dr.rest.service.utils.JQ;
+import com.ericsson.bos.dr.rest.web.v1.api.model.ConditionDto;
+import com.ericsson.bos.dr.rest.web.v1.api.model.HeaderConditionDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Structured condition on a response, compiled once from a <code>ConditionDto</code> into a predicate.
+ * The condition is matched if all of its criteria are matched. It is evaluated without jinja, and the response
+ * body is only parsed if the condition has a jq expression.
+ * <p>
+ * Compiled conditions are cached by <code>ConditionDto</code> instance, with weak keys, so that a condition is
+ * compiled once for as long as its resource configuration is cached.
+ * </p>
+ */
+public final class ResponseCondition implements Predicate<ConditionContext> {
+
+    private static final int MAX_STATUS_CODE = 599;
+    private static final Cache<ConditionDto, ResponseCondition> COMPILED_CONDITIONS = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    private final Predicate<ConditionContext> predicate;
+
+    private ResponseCondition(final Predicate<ConditionContext> predicate) {
+        this.predicate = predicate;
+    }
+
+    /**
+     * Get the compiled condition.
+     * @param condition condition
+     * @return ResponseCondition
+     */
+    public static ResponseCondition of(final ConditionDto condition) {
+        return COMPILED_CONDITIONS.get(condition, ResponseCondition::compile);
+    }
+
+    @Override
+    public boolean test(final ConditionContext conditionContext) {
+        return predicate.test(conditionContext);
+    }
+
+    private static ResponseCondition compile(final ConditionDto condition) {
+        final List<Predicate<ConditionContext>> predicates = new ArrayList<>();
+        if (condition.getConnectionFailure() != null) {
+            final boolean connectionFailure = condition.getConnectionFailure();
+            predicates.add(ctx -> ctx.isConnectionFailure() == connectionFailure);
+        }
+        if (condition.getStatusCodes() != null && !condition.getStatusCodes().isEmpty()) {
+            final BitSet statusCodes = compileStatusCodes(condition.getStatusCodes());
+            predicates.add(ctx -> ctx.getStatusCode() != null && ctx.getStatusCode() >= 0 && statusCodes.get(ctx.getStatusCode()));
+        }
+        if (condition.getHeaders() != null) {
+            condition.getHeaders().forEach(header -> predicates.add(compileHeader(header)));
+        }
+        if (condition.getJq() != null) {
+            final String jq = condition.getJq();
+            predicates.add(ctx -> JQ.query(jq, ctx.getBodyNode()).get().stream().anyMatch(ResponseCondition::isTruthy));
+        }
+        return new ResponseCondition(predicates.stream().reduce(ctx -> true, Predicate::and));
+    }
+
+    private static BitSet compileStatusCodes(final List<String> statusCodes) {
+        final BitSet bitSet = new BitSet(MAX_STATUS_CODE + 1);
+        for (final String statusCode : statusCodes) {
+            final String value = statusCode.trim().toLowerCase(Locale.ROOT);
+            if (value.endsWith("xx")) {
+                final int statusClass = Integer.parseInt(value.substring(0, 1)) * 100;
+                bitSet.set(statusClass, statusClass + 100);
+            } else if (value.contains("-")) {
+                final String[] range = value.split("-");
+                bitSet.set(Integer.parseInt(range[0].trim()), Math.min(Integer.parseInt(range[1].trim()), MAX_STATUS_CODE) + 1);
+            } else {
+                bitSet.set(Integer.parseInt(value));
+            }
+        }
+        return bitSet;
+    }
+
+    private static Predicate<ConditionContext> compileHeader(final HeaderConditionDto header) {
+        final String name = header.getName();
+        final String equalsValue = header.getEquals();
+        final String containsValue = header.getContains();
+        return ctx -> {
+            final List<String> values = ctx.getHeaders().get(name);
+            if (values == null || values.isEmpty()) {
+                return false;
+            }
+            return (equalsValue == null || values.contains(equalsValue))
+                    && (containsValue == null || values.stream().anyMatch(value -> value != null && value.contains(containsValue)));
+        };
+    }
+
+    private static boolean isTruthy(final JsonNode jsonNode) {
+        return jsonNode != null && !jsonNode.isNull() && !(jsonNode.isBoolean() && !jsonNode.booleanValue());
+    }
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.connectivity;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable connection profile of a connected system, resolved once from its connection properties.
+ * The auth properties are those of the auth subsystem, if the connected system has one, otherwise those of the
+ * connected system itself.
+ *
+ * @param authType auth type
+ * @param authKey auth key, used as a key in the substitution context and the auth_token_cache
+ * @param joinedAuthUrl authentication request url
+ * @param authHeaders authentication request headers
+ * @param sslVerify true if ssl verification is enabled
+ * @param sslTrustStoreSecretName trust store secret name
+ * @param sslTrustStoreSecretPassword trust store secret password
+ * @param sslKeyStoreSecretName key store secret name
+ * @param sslKeyStoreSecretPassword key store secret password
+ * @param connectTimeoutSeconds connect timeout in seconds
+ * @param readTimeoutSeconds read timeout in seconds
+ * @param writeTimeoutSeconds write timeout in seconds
+ * @param rateLimitPermitsPerSecond number of requests permitted per second, or null if not rate limited
+ * @param rateLimitBurst maximum number of requests permitted in a burst, or null to default to the permits per second
+ */
+public record ConnectionProfile(String authType,
+                                String authKey,
+                                String joinedAuthUrl,
+                                Map<String, List<String>> authHeaders,
+                                boolean sslVerify,
+                                String sslTrustStoreSecretName,
+                                String sslTrustStoreSecretPassword,
+                                String sslKeyStoreSecretName,
+                                String sslKeyStoreSecretPassword,
+                                int connectTimeoutSeconds,
+                                int readTimeoutSeconds,
+                                int writeTimeoutSeconds,
+                                Double rateLimitPermitsPerSecond,
+                                Integer rateLimitBurst) {
+
+    /**
+     * Create the connection profile of the subsystem.
+     * @param subsystem subsystem
+     * @return ConnectionProfile
+     */
+    static ConnectionProfile of(final Subsystem subsystem) {
+        final ConnectionProperties connectionProperties = subsystem.getConnection();
+        final Subsystem authSubsystem = subsystem.getAuthSubsystem().orElse(subsystem);
+        final ConnectionProperties authConnectionProperties = authSubsystem.getConnection();
+        return new ConnectionProfile(
+                authConnectionProperties.getAuthType(),
+                authConnectionProperties.getAuthKey(),
+                authSubsystem.getJoinedAuthUrl(),
+                authConnectionProperties.getAuthHeaders() == null ? null
+                        : Collections.unmodifiableMap(authConnectionProperties.getAuthHeaders()),
+                Boolean.TRUE.equals(connectionProperties.getSslVerify()),
+                connectionProperties.getSslTrustStoreSecretName(),
+                connectionProperties.getSslTrustStoreSecretPassword(),
+                connectionProperties.getSslKeyStoreSecretName(),
+                connectionProperties.getSslKeyStoreSecretPassword(),
+                connectionProperties.getClientConnectionTimeoutSeconds(),
+                connectionProperties.getReadTimeoutSeconds(),
+                connectionProperties.getWriteTimeoutSeconds(),
+                connectionProperties.getRateLimitPermitsPerSecond(),
+                connectionProperties.getRateLimitBurst());
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionProfile{" +
+                "authType='" + authType + '\'' +
+                ", authKey='" + authKey + '\'' +
+                ", joinedAuthUrl='" + joinedAuthUrl + '\'' +
+                ", sslVerify=" + sslVerify +
+                ", connectTimeoutSeconds=" + connectTimeoutSeconds +
+                ", readTimeoutSeconds=" + readTimeoutSeconds +
+                ", writeTimeoutSeconds=" + writeTimeoutSeconds +
+                ", rateLimitPermitsPerSecond=" + rateLimitPermitsPerSecond +
+                ", rateLimitBurst=" + rateLimitBurst +
+                '}';
+    }
+}
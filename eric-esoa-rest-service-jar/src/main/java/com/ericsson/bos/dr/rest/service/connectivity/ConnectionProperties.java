@@ -89,6 +89,14 @@ public class ConnectionProperties {
     @JsonAlias("client_writeTimeoutSeconds")
     private Integer writeTimeoutSeconds;
 
+    @JsonProperty("rateLimit.permitsPerSecond")
+    @JsonAlias("rateLimit_permitsPerSecond")
+    private Double rateLimitPermitsPerSecond;
+
+    @JsonProperty("rateLimit.burst")
+    @JsonAlias("rateLimit_burst")
+    private Integer rateLimitBurst;
+
     private Map<String, List<String>> authHeaders;
 
 
@@ -262,6 +270,22 @@ public class ConnectionProperties {
         this.writeTimeoutSeconds = writeTimeoutSeconds;
     }
 
+    public Double getRateLimitPermitsPerSecond() {
+        return rateLimitPermitsPerSecond;
+    }
+
+    public void setRateLimitPermitsPerSecond(Double rateLimitPermitsPerSecond) {
+        this.rateLimitPermitsPerSecond = rateLimitPermitsPerSecond;
+    }
+
+    public Integer getRateLimitBurst() {
+        return rateLimitBurst;
+    }
+
+    public void setRateLimitBurst(Integer rateLimitBurst) {
+        this.rateLimitBurst = rateLimitBurst;
+    }
+
     @Override
     public String toString() {
         return "ConnectionProperties{" +
@@ -285,6 +309,8 @@ public class ConnectionProperties {
                ", clientConnectionTimeoutSeconds=" + clientConnectionTimeoutSeconds +
                ", readTimeoutSeconds=" + readTimeoutSeconds +
                ", writeTimeoutSeconds=" + writeTimeoutSeconds +
+               ", rateLimitPermitsPerSecond=" + rateLimitPermitsPerSecond +
+               ", rateLimitBurst=" + rateLimitBurst +
                ", authHeaders=" + authHeaders +
                '}';
     }
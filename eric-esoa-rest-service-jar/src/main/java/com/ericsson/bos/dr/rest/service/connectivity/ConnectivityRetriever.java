@@ -30,6 +30,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
@@ -55,30 +56,70 @@ public class ConnectivityRetriever {
     @Qualifier("internal_service")
     private HttpExecutor httpExecutor;
 
+    @Autowired
+    @Qualifier("authSubsystemCache")
+    private CaffeineCache authSubsystemCache;
+
     /**
      * Return <Code>Subsystem</Code>
+     * The subsystem_cache loads the subsystem on a cache miss, and reloads it in the background
+     * once it is due to be refreshed. Concurrent cache misses for the same subsystem share a single load.
      *
      * @param subsystemName Name of the connected system in subsystem manager
      * @return Subsystem
      */
-    @Cacheable(value = "subsystem_cache", key = "#subsystemName")
+    @Cacheable(value = "subsystem_cache", key = "#subsystemName", sync = true)
     public Subsystem getSubsystem(String subsystemName) {
+        return loadSubsystem(subsystemName);
+    }
+
+    /**
+     * Load <Code>Subsystem</Code> from subsystem manager, bypassing the cache.
+     *
+     * @param subsystemName Name of the connected system in subsystem manager
+     * @return Subsystem
+     */
+    public Subsystem loadSubsystem(String subsystemName) {
         final Subsystem subsystem = fetchSubsystem(subsystemName);
         if (StringUtils.isNotEmpty(subsystem.getConnection().getAuthSubsystemName())) {
-            subsystem.setAuthSubsystem(fetchSubsystem(subsystem.getConnection().getAuthSubsystemName()));
+            subsystem.setAuthSubsystem(authSubsystemCache.get(subsystem.getConnection().getAuthSubsystemName(), Subsystem.class));
         }
+        // resolve the connection profile before the subsystem is cached, so that it is not resolved on the run path
+        subsystem.getConnectionProfile();
         return subsystem;
     }
 
+    /**
+     * Load auth <Code>Subsystem</Code> from subsystem manager, bypassing the cache.
+     * The auth subsystem of an auth subsystem is not resolved.
+     *
+     * @param subsystemName Name of the auth subsystem in subsystem manager
+     * @return Subsystem
+     */
+    public Subsystem loadAuthSubsystem(String subsystemName) {
+        final Subsystem authSubsystem = fetchSubsystem(subsystemName);
+        authSubsystem.getConnectionProfile();
+        return authSubsystem;
+    }
+
+    /**
+     * Return a page of <Code>Subsystem</Code> from subsystem manager, bypassing the cache.
+     * The page is requested with the <code>offset</code> and <code>limit</code> query parameters, for which subsystem
+     * manager returns at most <code>limit</code> subsystems starting from the zero-based <code>offset</code>.
+     * The auth subsystems of the returned subsystems are not set.
+     *
+     * @param offset index of the first subsystem to return
+     * @param limit maximum number of subsystems to return
+     * @return list of Subsystem
+     */
+    public List<Subsystem> fetchSubsystems(final int offset, final int limit) {
+        LOGGER.info("Getting subsystems: offset={}, limit={}", offset, limit);
+        return fetchSubsystems("?offset=" + offset + "&limit=" + limit);
+    }
+
     private Subsystem fetchSubsystem(final String subsystemName) {
         LOGGER.info("Getting subsystem: {}", subsystemName);
-        final var httpRequest = createHttpRequest(subsystemName);
-        final var responseEntity = httpExecutor.execute(httpRequest);
-
-        final List<Subsystem> subsystems = JSON.readList(new String(responseEntity.getBody(), StandardCharsets.UTF_8), Subsystem.class);
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Subsystems: {}", subsystems);
-        }
+        final List<Subsystem> subsystems = fetchSubsystems("?name=" + subsystemName);
         if (subsystems.isEmpty()){
             throw new RestServiceException(CONNECTED_SYSTEM_NOT_FOUND, subsystemName);
         }
@@ -89,8 +130,18 @@ public class ConnectivityRetriever {
         return subsystem;
     }
 
-    private HttpRequest createHttpRequest(final String subsystemName) {
-        final String queryParams = "?name=" + subsystemName;
+    private List<Subsystem> fetchSubsystems(final String queryParams) {
+        final var httpRequest = createHttpRequest(queryParams);
+        final var responseEntity = httpExecutor.execute(httpRequest);
+
+        final List<Subsystem> subsystems = JSON.readList(new String(responseEntity.getBody(), StandardCharsets.UTF_8), Subsystem.class);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Subsystems: {}", subsystems);
+        }
+        return subsystems;
+    }
+
+    private HttpRequest createHttpRequest(final String queryParams) {
         final var url = StringUtils.join(subsystemUrl, subsystemsPath, queryParams);
 
         final Map<String, List<String>> headers = new HashMap<>();
@@ -15,6 +15,7 @@
  ******************************************************************************/
 package com.ericsson.bos.dr.rest.service.connectivity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.util.List;
 import java.util.Optional;
@@ -44,6 +45,8 @@ public class Subsystem {
 
     private Subsystem authSubsystem;
 
+    private volatile ConnectionProfile connectionProfile;
+
     public String getName() {
         return name;
     }
@@ -58,6 +61,7 @@ public class Subsystem {
 
     public void setUrl(String url) {
         this.url = url;
+        this.connectionProfile = null;
     }
 
     public List<ConnectionProperties> getConnectionProperties() {
@@ -66,22 +70,33 @@ public class Subsystem {
 
     public void setConnectionProperties(List<ConnectionProperties> connectionProperties) {
         this.connectionProperties = connectionProperties;
+        this.connectionProfile = null;
     }
 
     public ConnectionProperties getConnection() {
         return getConnectionProperties().get(0);
     }
 
+    /**
+     * Get the connection profile, which is resolved on first access and then reused until the subsystem is changed.
+     * @return connection profile
+     */
+    @JsonIgnore
+    public ConnectionProfile getConnectionProfile() {
+        ConnectionProfile profile = connectionProfile;
+        if (profile == null) {
+            profile = ConnectionProfile.of(this);
+            connectionProfile = profile;
+        }
+        return profile;
+    }
+
     /**
      * check is sslVerify is true or false
      * @return Boolean value of sslVerify - true or false
      */
     public Boolean isSslVerify() {
-        if (getConnection().getSslVerify() != null) {
-            return getConnection().getSslVerify();
-        } else {
-            return false;
-        }
+        return getConnectionProfile().sslVerify();
     }
 
     /**
@@ -100,6 +115,7 @@ public class Subsystem {
 
     public void setAuthSubsystem(final Subsystem authSubsystem) {
         this.authSubsystem = authSubsystem;
+        this.connectionProfile = null;
     }
 
     /**
@@ -108,10 +124,7 @@ public class Subsystem {
      * @return auth key.
      */
     public String getAuthKey() {
-        final Subsystem subsystemWithAuthKey = getAuthSubsystem().orElse(this);
-        return subsystemWithAuthKey
-                .getConnection()
-                .getAuthKey();
+        return getConnectionProfile().authKey();
     }
 
     @Override
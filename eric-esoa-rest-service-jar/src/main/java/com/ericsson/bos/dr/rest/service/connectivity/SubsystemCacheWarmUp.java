@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.connectivity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import com.ericsson.bos.dr.rest.service.auth.AuthenticationService;
+
+/**
+ * Warms up the subsystem cache at startup.
+ * The subsystems are fetched in pages from subsystem manager and added to the subsystem_cache, and those referenced
+ * as an auth subsystem are also added to the auth_subsystem_cache. The configured subsystems are then pre-authenticated
+ * so that their auth tokens are cached. The warm-up runs before the application is ready, so the readiness probe does
+ * not pass until it has completed or its timeout has elapsed. A failure to warm up is logged and does not prevent
+ * startup, the subsystems are then loaded on first use.
+ * <p>
+ * The pages are fetched using the <code>offset</code> and <code>limit</code> query parameters of the subsystems-path,
+ * so subsystem manager must return at most <code>limit</code> subsystems starting from the zero-based
+ * <code>offset</code>, in a stable order. A page with fewer than <code>limit</code> subsystems is taken as the last page.
+ * </p>
+ * <p>
+ * The warmed entries are subject to the access expiry of the subsystem_cache like any other entry, so a subsystem
+ * which is not used within the access expiry of startup is evicted and loaded again on first use. The access expiry
+ * should therefore be increased when the warm-up is enabled, to cover the expected interval between uses of a
+ * subsystem. The entries are still reloaded in the background after the refresh interval once used, so a longer
+ * access expiry does not serve stale subsystems.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "service.connected-system.warm-up", name = "enabled", havingValue = "true")
+public class SubsystemCacheWarmUp implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubsystemCacheWarmUp.class);
+
+    @Autowired
+    private SubsystemWarmUpProperties warmUpProperties;
+
+    @Autowired
+    private ConnectivityRetriever connectivityRetriever;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    @Qualifier("subsystemCache")
+    private CaffeineCache subsystemCache;
+
+    @Autowired
+    @Qualifier("authSubsystemCache")
+    private CaffeineCache authSubsystemCache;
+
+    @Value("${service.connected-system.cache.accessExpiry}")
+    private long subsystemCacheAccessExpiry;
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        final long deadline = System.nanoTime() + warmUpProperties.getTimeout().toNanos();
+        try {
+            final int cached = cacheSubsystems(fetchSubsystems(deadline));
+            LOGGER.info("Warmed up subsystem cache with {} subsystems, subsystems not used within {}s are evicted",
+                    cached, subsystemCacheAccessExpiry);
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Failed to warm up subsystem cache", e);
+        }
+        preAuthenticate(deadline);
+    }
+
+    private List<Subsystem> fetchSubsystems(final long deadline) {
+        final List<Subsystem> subsystems = new ArrayList<>();
+        List<Subsystem> page;
+        int limit;
+        do {
+            limit = Math.min(warmUpProperties.getPageSize(), warmUpProperties.getMaxSubsystems() - subsystems.size());
+            page = connectivityRetriever.fetchSubsystems(subsystems.size(), limit);
+            subsystems.addAll(page);
+        } while (page.size() == limit && subsystems.size() < warmUpProperties.getMaxSubsystems()
+                && !isDeadlineReached(deadline));
+        return subsystems;
+    }
+
+    private int cacheSubsystems(final List<Subsystem> subsystems) {
+        final Map<String, Subsystem> subsystemsByName = subsystems.stream()
+                .filter(subsystem -> !CollectionUtils.isEmpty(subsystem.getConnectionProperties()))
+                .collect(Collectors.toMap(Subsystem::getName, Function.identity(), (first, second) -> first));
+        int cached = 0;
+        for (final Subsystem subsystem : subsystemsByName.values()) {
+            final String authSubsystemName = subsystem.getConnection().getAuthSubsystemName();
+            if (StringUtils.isNotEmpty(authSubsystemName)) {
+                if (!subsystemsByName.containsKey(authSubsystemName)) {
+                    // auth subsystem was not fetched, the subsystem is loaded on first use instead
+                    continue;
+                }
+                subsystem.setAuthSubsystem(subsystemsByName.get(authSubsystemName));
+                authSubsystemCache.putIfAbsent(authSubsystemName, subsystemsByName.get(authSubsystemName));
+            }
+            subsystem.getConnectionProfile();
+            subsystemCache.put(subsystem.getName(), subsystem);
+            cached++;
+        }
+        return cached;
+    }
+
+    private void preAuthenticate(final long deadline) {
+        for (final String subsystemName : warmUpProperties.getPreAuthenticate()) {
+            if (isDeadlineReached(deadline)) {
+                LOGGER.warn("Subsystem cache warm-up timed out before pre-authenticating subsystem {}", subsystemName);
+                return;
+            }
+            try {
+                authenticationService.authenticate(connectivityRetriever.getSubsystem(subsystemName));
+                LOGGER.info("Pre-authenticated subsystem {}", subsystemName);
+            } catch (final RuntimeException e) {
+                LOGGER.warn("Failed to pre-authenticate subsystem {}", subsystemName, e);
+            }
+        }
+    }
+
+    private boolean isDeadlineReached(final long deadline) {
+        return System.nanoTime() - deadline >= 0;
+    }
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.connectivity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties to configure the warm-up of the subsystem cache at startup.
+ */
+@ConfigurationProperties(prefix = "service.connected-system.warm-up")
+@Configuration
+public class SubsystemWarmUpProperties {
+
+    private boolean enabled;
+    private int pageSize = 100;
+    private int maxSubsystems = 1000;
+    private Duration timeout = Duration.ofSeconds(60);
+    private List<String> preAuthenticate = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public int getMaxSubsystems() {
+        return maxSubsystems;
+    }
+
+    public void setMaxSubsystems(int maxSubsystems) {
+        this.maxSubsystems = maxSubsystems;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public List<String> getPreAuthenticate() {
+        return preAuthenticate;
+    }
+
+    public void setPreAuthenticate(List<String> preAuthenticate) {
+        this.preAuthenticate = preAuthenticate;
+    }
+}
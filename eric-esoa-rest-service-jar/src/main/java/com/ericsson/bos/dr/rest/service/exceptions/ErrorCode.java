@@ -41,6 +41,10 @@ public enum ErrorCode {
     CERTIFICATE_HANDLING_FAILED("RS-17", HttpStatus.INTERNAL_SERVER_ERROR),
     GET_AUTH_TOKEN_ERROR("RS-18", HttpStatus.INTERNAL_SERVER_ERROR),
     INVALID_AUTH_BODY("RS-19", HttpStatus.BAD_REQUEST),
+    CIRCUIT_BREAKER_OPEN("RS-20", HttpStatus.SERVICE_UNAVAILABLE),
+    CONCURRENCY_LIMIT_EXCEEDED("RS-21", HttpStatus.TOO_MANY_REQUESTS),
+    RATE_LIMIT_EXCEEDED("RS-22", HttpStatus.TOO_MANY_REQUESTS),
+    BATCH_SIZE_EXCEEDED("RS-23", HttpStatus.BAD_REQUEST),
     GENERAL_ERROR("RS-500", HttpStatus.INTERNAL_SERVER_ERROR);
 
     private final String code;
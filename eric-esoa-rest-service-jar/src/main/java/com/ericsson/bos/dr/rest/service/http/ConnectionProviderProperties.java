@@ -16,12 +16,16 @@
 package com.ericsson.bos.dr.rest.service.http;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * Configuration properties to configure netty connection pool.
+ * When partitioned by subsystem, each subsystem has its own connection pool, so that a slow subsystem cannot hold the
+ * connections needed by other subsystems. The pool limits can be overridden per subsystem.
  */
 @ConfigurationProperties(prefix = "netty.http-client.connection-pool")
 @Configuration
@@ -33,6 +37,11 @@ public class ConnectionProviderProperties {
     private Duration evictInterval;
     private Duration disposeInterval;
     private Duration poolInactivityTime;
+    private Integer pendingAcquireMaxCount;
+    private Duration pendingAcquireTimeout;
+    private boolean partitionBySubsystem = true;
+    private boolean metricsEnabled = true;
+    private Map<String, PoolLimits> subsystems = new HashMap<>();
 
     public int getMaxConnections() {
         return maxConnections;
@@ -81,4 +90,110 @@ public class ConnectionProviderProperties {
     public void setPoolInactivityTime(Duration poolInactivityTime) {
         this.poolInactivityTime = poolInactivityTime;
     }
-}
\ No newline at end of file
+
+    public Integer getPendingAcquireMaxCount() {
+        return pendingAcquireMaxCount;
+    }
+
+    public void setPendingAcquireMaxCount(Integer pendingAcquireMaxCount) {
+        this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+    }
+
+    public Duration getPendingAcquireTimeout() {
+        return pendingAcquireTimeout;
+    }
+
+    public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+        this.pendingAcquireTimeout = pendingAcquireTimeout;
+    }
+
+    public boolean isPartitionBySubsystem() {
+        return partitionBySubsystem;
+    }
+
+    public void setPartitionBySubsystem(boolean partitionBySubsystem) {
+        this.partitionBySubsystem = partitionBySubsystem;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    public Map<String, PoolLimits> getSubsystems() {
+        return subsystems;
+    }
+
+    public void setSubsystems(Map<String, PoolLimits> subsystems) {
+        this.subsystems = subsystems;
+    }
+
+    /**
+     * Get the max connections for the subsystem, which is the subsystem override if configured.
+     * @param subsystemName subsystem name
+     * @return max connections
+     */
+    public int getMaxConnections(final String subsystemName) {
+        final PoolLimits poolLimits = subsystems.get(subsystemName);
+        return poolLimits != null && poolLimits.getMaxConnections() != null ? poolLimits.getMaxConnections() : maxConnections;
+    }
+
+    /**
+     * Get the pending acquire max count for the subsystem, which is the subsystem override if configured.
+     * @param subsystemName subsystem name
+     * @return pending acquire max count, or null if not configured
+     */
+    public Integer getPendingAcquireMaxCount(final String subsystemName) {
+        final PoolLimits poolLimits = subsystems.get(subsystemName);
+        return poolLimits != null && poolLimits.getPendingAcquireMaxCount() != null ? poolLimits.getPendingAcquireMaxCount()
+                : pendingAcquireMaxCount;
+    }
+
+    /**
+     * Get the pending acquire timeout for the subsystem, which is the subsystem override if configured.
+     * @param subsystemName subsystem name
+     * @return pending acquire timeout, or null if not configured
+     */
+    public Duration getPendingAcquireTimeout(final String subsystemName) {
+        final PoolLimits poolLimits = subsystems.get(subsystemName);
+        return poolLimits != null && poolLimits.getPendingAcquireTimeout() != null ? poolLimits.getPendingAcquireTimeout()
+                : pendingAcquireTimeout;
+    }
+
+    /**
+     * Connection pool limits overridden for a subsystem.
+     */
+    public static class PoolLimits {
+
+        private Integer maxConnections;
+        private Integer pendingAcquireMaxCount;
+        private Duration pendingAcquireTimeout;
+
+        public Integer getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(Integer maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public Integer getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(Integer pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+    }
+}
@@ -21,11 +21,11 @@ import javax.net.ssl.SSLException;
 import javax.net.ssl.TrustManagerFactory;
 import java.io.ByteArrayInputStream;
 import java.security.KeyStore;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.ericsson.bos.dr.rest.service.exceptions.ErrorCode;
 import com.ericsson.bos.dr.rest.service.exceptions.RestServiceException;
@@ -38,15 +38,18 @@ import org.springframework.stereotype.Component;
  * on the keystore and truststore secret names defined in the http request. The certs must be
  * added prior to getting the SslContext. The same instance of SslContext will be returned for the same
  * combination of truststore and keystore secrets names in the http request.
+ * The SslContext is created under a lock rather than in <code>ConcurrentHashMap.computeIfAbsent</code>, as creating it
+ * loads the key stores, which would otherwise block other threads updating the same bin of the map.
  */
 @Component
 public class ExternalSslCtx {
 
     private record SslContextKey(String trustStoreSecretName, String keystoreSecretName) {}
 
-    private final Map<SslContextKey, SslContext> sslContexts = Collections.synchronizedMap(new HashMap<>());
-    private final Map<String, byte[]> trustStorePkcs12Certs = Collections.synchronizedMap(new HashMap<>());
-    private final Map<String, byte[]> keyStorePkcs12Certs = Collections.synchronizedMap(new HashMap<>());
+    private final Map<SslContextKey, SslContext> sslContexts = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> trustStorePkcs12Certs = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> keyStorePkcs12Certs = new ConcurrentHashMap<>();
+    private final Lock lock = new ReentrantLock();
 
     /**
      * Get an SSL Context for keystore and truststore specified in the http request.
@@ -56,23 +59,38 @@ public class ExternalSslCtx {
     public SslContext get(final HttpRequest httpRequest) {
         final SslContextKey sslContextKey =
                 new SslContextKey(httpRequest.getTrustStoreSecretName(), httpRequest.getKeyStoreSecretName());
-        if (!sslContexts.containsKey(sslContextKey)) {
-            try {
-                var sslContextBuilder = SslContextBuilder.forClient();
-                if (httpRequest.getTrustStoreSecretName() != null) {
-                    sslContextBuilder = sslContextBuilder.trustManager(loadTrustManagerFactory(httpRequest.getTrustStoreSecretName(),
-                            httpRequest.getTrustStoreSecretPassword()));
-                }
-                if (httpRequest.getKeyStoreSecretName() != null) {
-                    sslContextBuilder = sslContextBuilder.keyManager(loadKeyManagerFactory(httpRequest.getKeyStoreSecretName(),
-                            httpRequest.getKeyStoreSecretPassword()));
-                }
-                sslContexts.put(sslContextKey, sslContextBuilder.build());
-            } catch (SSLException e) {
-                throw new RestServiceException(e, ErrorCode.GENERAL_ERROR, e.getMessage());
+        final SslContext current = sslContexts.get(sslContextKey);
+        if (current != null) {
+            return current;
+        }
+        lock.lock();
+        try {
+            SslContext sslContext = sslContexts.get(sslContextKey);
+            if (sslContext == null) {
+                sslContext = createSslContext(httpRequest);
+                sslContexts.put(sslContextKey, sslContext);
+            }
+            return sslContext;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private SslContext createSslContext(final HttpRequest httpRequest) {
+        try {
+            var sslContextBuilder = SslContextBuilder.forClient();
+            if (httpRequest.getTrustStoreSecretName() != null) {
+                sslContextBuilder = sslContextBuilder.trustManager(loadTrustManagerFactory(httpRequest.getTrustStoreSecretName(),
+                        httpRequest.getTrustStoreSecretPassword()));
+            }
+            if (httpRequest.getKeyStoreSecretName() != null) {
+                sslContextBuilder = sslContextBuilder.keyManager(loadKeyManagerFactory(httpRequest.getKeyStoreSecretName(),
+                        httpRequest.getKeyStoreSecretPassword()));
             }
+            return sslContextBuilder.build();
+        } catch (SSLException e) {
+            throw new RestServiceException(e, ErrorCode.GENERAL_ERROR, e.getMessage());
         }
-        return sslContexts.get(sslContextKey);
     }
 
     /**
@@ -167,14 +185,20 @@ public class ExternalSslCtx {
     }
 
     private void removeSslContextsUsingKeystore(final String secretName) {
-        final List<SslContextKey> keysToRemove = sslContexts.keySet().stream()
-                .filter(k -> secretName.equals(k.keystoreSecretName())).toList();
-        keysToRemove.forEach(sslContexts::remove);
+        lock.lock();
+        try {
+            sslContexts.keySet().removeIf(k -> secretName.equals(k.keystoreSecretName()));
+        } finally {
+            lock.unlock();
+        }
     }
 
     private void removeSslContextsUsingTruststore(final String secretName) {
-        final List<SslContextKey> keysToRemove = sslContexts.keySet().stream()
-                .filter(k -> secretName.equals(k.trustStoreSecretName())).toList();
-        keysToRemove.forEach(sslContexts::remove);
+        lock.lock();
+        try {
+            sslContexts.keySet().removeIf(k -> secretName.equals(k.trustStoreSecretName()));
+        } finally {
+            lock.unlock();
+        }
     }
 }
\ No newline at end of file
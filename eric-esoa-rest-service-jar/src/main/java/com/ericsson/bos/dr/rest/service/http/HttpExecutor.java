@@ -18,17 +18,21 @@ package com.ericsson.bos.dr.rest.service.http;
 import static com.ericsson.bos.dr.rest.service.utils.ExceptionChecks.isConnectionIssue;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.reactive.ClientHttpConnector;
@@ -37,16 +41,24 @@ import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import com.ericsson.bos.dr.rest.service.http.circuitbreaker.CircuitBreakerRegistry;
 import com.ericsson.bos.dr.rest.service.http.retry.ResourceRetrySpec;
+import com.ericsson.bos.dr.rest.service.http.retry.RetryBudget;
+import com.ericsson.bos.dr.rest.service.http.retry.RetryBudgetRegistry;
 import com.ericsson.bos.dr.rest.service.utils.URIEncoder;
 import com.ericsson.bos.dr.rest.web.v1.api.model.RetryHandlerDto;
 import com.ericsson.bos.so.common.logging.security.SecurityLogger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
 
 import io.netty.channel.ChannelOption;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.resources.ConnectionProvider;
@@ -54,12 +66,19 @@ import reactor.netty.transport.logging.AdvancedByteBufFormat;
 
 /**
  * Executes HTTP requests based on the action properties from the application configuration.
- * Uses the Spring Fwk WebClient in synchronous mode for now, i.e. blocking.
+ * Uses the Spring Fwk WebClient, either in synchronous mode, i.e. blocking, or asynchronously returning a <code>Mono</code>.
  * The class is abstract and delegates configuration of the SslContext to extending classes.
+ * Built WebClients are cached and reused for requests with the same SslContext instance, timeouts and connection pool.
+ * Requests for a subsystem use a connection pool dedicated to the subsystem, if the connection pool is partitioned
+ * by subsystem, otherwise a shared connection pool is used. The connection pool of a subsystem is disposed once it has
+ * not been used for the pool inactivity time, or when the subsystem is deleted, and is created again on its next use.
+ * Requests for a subsystem are protected by a circuit breaker, and their retries are limited by the retry budget of the
+ * subsystem.
  */
 public abstract class HttpExecutor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpExecutor.class);
+    private static final long MAX_CACHED_ENTRIES = 1000;
 
     //remove in https://eteamproject.internal.ericsson.com/browse/ESOA-12900
     @Value("${spring.codec.max-in-memory-size-kb}")
@@ -71,21 +90,54 @@ public abstract class HttpExecutor {
     @Autowired
     private ConnectionProviderProperties connectionProviderProperties;
 
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private RetryBudgetRegistry retryBudgetRegistry;
+
     private ConnectionProvider connectionProvider;
 
+    private Cache<String, ConnectionProvider> subsystemConnectionProviders;
+
+    private Cache<WebClientKey, WebClient> webClients;
+
     /**
-     * Initialize Connection Provider.
+     * Initialize Connection Provider and WebClient cache.
      */
     @PostConstruct
     void init() {
-        connectionProvider = ConnectionProvider.builder("rest-service")
-                .maxConnections(connectionProviderProperties.getMaxConnections())
-                .maxIdleTime(connectionProviderProperties.getMaxIdleTime())
-                .maxLifeTime(connectionProviderProperties.getMaxLifeTime())
-                .evictInBackground(connectionProviderProperties.getEvictInterval())
-                .disposeInactivePoolsInBackground(connectionProviderProperties.getDisposeInterval(),
-                        connectionProviderProperties.getPoolInactivityTime())
+        webClients = Caffeine.newBuilder()
+                .maximumSize(MAX_CACHED_ENTRIES)
+                .expireAfterAccess(connectionProviderProperties.getPoolInactivityTime())
+                .build();
+        subsystemConnectionProviders = Caffeine.newBuilder()
+                .maximumSize(MAX_CACHED_ENTRIES)
+                .expireAfterAccess(connectionProviderProperties.getPoolInactivityTime())
+                .scheduler(Scheduler.systemScheduler())
+                .executor(Runnable::run)
+                .removalListener(this::onConnectionProviderRemoval)
                 .build();
+        connectionProvider = createConnectionProvider("rest-service", null);
+    }
+
+    /**
+     * Dispose the Connection Providers.
+     */
+    @PreDestroy
+    void dispose() {
+        subsystemConnectionProviders.invalidateAll();
+        connectionProvider.dispose();
+    }
+
+    /**
+     * Dispose the connection pool dedicated to the subsystem, if any. A new connection pool is created on the next
+     * request for the subsystem.
+     *
+     * @param subsystemName subsystem name
+     */
+    public void removeConnectionPool(final String subsystemName) {
+        subsystemConnectionProviders.invalidate(subsystemName);
     }
 
     /**
@@ -107,16 +159,76 @@ public abstract class HttpExecutor {
      * @return ResponseEntity
      */
     public ResponseEntity<byte[]> execute(final HttpRequest properties, final List<RetryHandlerDto> retryHandlers) {
-        final ClientHttpConnector connector = new ReactorClientHttpConnector(configureHttpClient(properties));
-        final var webClient = webClientBuilder.clone()
-            .clientConnector(connector)
-            .exchangeStrategies(ExchangeStrategies                  //remove in https://eteamproject.internal.ericsson.com/browse/ESOA-12900
-                .builder()
-                .codecs(codecs -> codecs
-                    .defaultCodecs()
-                    .maxInMemorySize(Integer.parseInt(webClientInMemorySize) * 1024))
-                .build())
-            .build();
+        return executeAsync(properties, retryHandlers).block();
+    }
+
+    /**
+     * Execute http request using the <code>WebClient</code> without blocking, configured to retry
+     * failed request when matching <code>RetryHandlerDto</code>  is found.
+     *
+     * @param properties    the http properties
+     * @param retryHandlers retry handlers
+     * @return ResponseEntity Mono
+     */
+    public Mono<ResponseEntity<byte[]>> executeAsync(final HttpRequest properties, final List<RetryHandlerDto> retryHandlers) {
+        return executeAsync(properties, retryHandlers, Mono.empty());
+    }
+
+    /**
+     * Execute http request using the <code>WebClient</code> without blocking, configured to retry
+     * failed request when matching <code>RetryHandlerDto</code>  is found and the retry is permitted.
+     *
+     * @param properties    the http properties
+     * @param retryHandlers retry handlers
+     * @param retryPermit   Mono which completes once a retry is permitted, or errors if it is not permitted
+     * @return ResponseEntity Mono
+     */
+    public Mono<ResponseEntity<byte[]>> executeAsync(final HttpRequest properties, final List<RetryHandlerDto> retryHandlers,
+                                                     final Mono<Void> retryPermit) {
+        return exchange(properties, retryHandlers, retryPermit, responseSpec -> responseSpec.toEntity(byte[].class), Function.identity())
+            .doOnNext(response -> {
+                if (LOGGER.isTraceEnabled()) {
+                    LOGGER.trace("Http Response body: {}", response.getBody());
+                }
+            });
+    }
+
+    /**
+     * Execute http request using the <code>WebClient</code> without blocking, returning the response body as a stream
+     * of <code>DataBuffer</code> which is not buffered in memory. The <code>ResponseEntity</code> is emitted once the
+     * response status and headers are received. The body must be consumed, or the subscription cancelled, in order
+     * to release the connection. An error response is buffered and is retried in the same way as for
+     * {@link #executeAsync(HttpRequest, List)}.
+     *
+     * @param properties    the http properties
+     * @param retryHandlers retry handlers
+     * @return ResponseEntity Mono
+     */
+    public Mono<ResponseEntity<Flux<DataBuffer>>> executeStreaming(final HttpRequest properties, final List<RetryHandlerDto> retryHandlers) {
+        return executeStreaming(properties, retryHandlers, Mono.empty());
+    }
+
+    /**
+     * Execute http request using the <code>WebClient</code> without blocking, returning the response body as a stream
+     * of <code>DataBuffer</code>, as for {@link #executeStreaming(HttpRequest, List)}, where a retry is only performed
+     * once permitted.
+     *
+     * @param properties    the http properties
+     * @param retryHandlers retry handlers
+     * @param retryPermit   Mono which completes once a retry is permitted, or errors if it is not permitted
+     * @return ResponseEntity Mono
+     */
+    public Mono<ResponseEntity<Flux<DataBuffer>>> executeStreaming(final HttpRequest properties, final List<RetryHandlerDto> retryHandlers,
+                                                                   final Mono<Void> retryPermit) {
+        return exchange(properties, retryHandlers, retryPermit, responseSpec -> responseSpec.toEntityFlux(DataBuffer.class),
+            errorBody -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(errorBody)));
+    }
+
+    private <T> Mono<ResponseEntity<T>> exchange(final HttpRequest properties, final List<RetryHandlerDto> retryHandlers,
+                                                 final Mono<Void> retryPermit,
+                                                 final Function<WebClient.ResponseSpec, Mono<ResponseEntity<T>>> bodyExtractor,
+                                                 final Function<byte[], T> errorBodyMapper) {
+        final var webClient = getWebClient(properties);
 
         final URI uri = Boolean.TRUE.equals(properties.getEncodeUrl()) ?
             URIEncoder.fromString(properties.getUrl()) : URI.create(properties.getUrl());
@@ -126,9 +238,22 @@ public abstract class HttpExecutor {
         properties.getBody().ifPresent(requestSpec::bodyValue);
 
         LOGGER.debug("Execute http request: {}:{}", properties.getMethod(), uri);
-        final ResponseEntity<byte[]> response = requestSpec.retrieve()
-            .toEntity(byte[].class)
-            .retryWhen(new ResourceRetrySpec(retryHandlers))
+        return circuitBreakerRegistry.execute(properties,
+            exchange(properties, retryHandlers, retryPermit, requestSpec, bodyExtractor, errorBodyMapper));
+    }
+
+    private <T> Mono<ResponseEntity<T>> exchange(final HttpRequest properties, final List<RetryHandlerDto> retryHandlers,
+                                                 final Mono<Void> retryPermit, final WebClient.RequestBodySpec requestSpec,
+                                                 final Function<WebClient.ResponseSpec, Mono<ResponseEntity<T>>> bodyExtractor,
+                                                 final Function<byte[], T> errorBodyMapper) {
+        final RetryBudget retryBudget = retryBudgetRegistry.get(properties.getSubsystemName());
+        return bodyExtractor.apply(requestSpec.retrieve())
+            .retryWhen(new ResourceRetrySpec(retryHandlers, retryBudget, retryPermit))
+            .doOnSubscribe(subscription -> {
+                if (retryBudget != null) {
+                    retryBudget.recordRequest();
+                }
+            })
             .onErrorResume(error -> {
                 if (isConnectionIssue(error)) {
                     SecurityLogger.withFacility(
@@ -141,29 +266,82 @@ public abstract class HttpExecutor {
                     return Mono.just(ResponseEntity
                         .status(responseException.getStatusCode())
                         .headers(responseException.getHeaders())
-                        .body(responseException.getResponseBodyAsByteArray()));
+                        .body(errorBodyMapper.apply(responseException.getResponseBodyAsByteArray())));
                 }
                 return Mono.error(error);
-            }).block();
+            })
+            .doOnNext(response -> {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Http Response: code={}, headers={}", response.getStatusCode(), response.getHeaders());
+                }
+            });
+    }
 
-        Optional.ofNullable(response).ifPresent(r -> {
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Http Response: code={}, headers={}", response.getStatusCode(), response.getHeaders());
-            }
-            if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("Http Response body: {}", response.getBody());
-            }
-        });
+    private WebClient getWebClient(final HttpRequest httpRequest) {
+        final var webClientKey = new WebClientKey(configureSslContext(httpRequest), httpRequest.getConnectTimeoutSeconds(),
+                httpRequest.getReadTimeoutSeconds(), httpRequest.getWriteTimeoutSeconds(), getConnectionProvider(httpRequest));
+        return webClients.get(webClientKey, this::createWebClient);
+    }
 
-        return response;
+    private ConnectionProvider getConnectionProvider(final HttpRequest httpRequest) {
+        final String subsystemName = httpRequest.getSubsystemName();
+        if (subsystemName == null || !connectionProviderProperties.isPartitionBySubsystem()) {
+            return connectionProvider;
+        }
+        return subsystemConnectionProviders.get(subsystemName, name -> createConnectionProvider("rest-service-" + name, name));
     }
 
-    private HttpClient configureHttpClient(final HttpRequest httpRequest) {
-        var httpClient = HttpClient.create(connectionProvider)
+    /**
+     * The WebClients built on the connection pool are removed together with it, so that they are not used once the
+     * connection pool is disposed. Connections in use are closed once released.
+     */
+    private void onConnectionProviderRemoval(final String subsystemName, final ConnectionProvider provider, final RemovalCause cause) {
+        if (provider != null) {
+            LOGGER.debug("Disposing connection pool of subsystem {}: {}", subsystemName, cause);
+            webClients.asMap().keySet().removeIf(webClientKey -> webClientKey.connectionProvider() == provider);
+            provider.disposeLater().subscribe();
+        }
+    }
+
+    private ConnectionProvider createConnectionProvider(final String poolName, final String subsystemName) {
+        final ConnectionProvider.Builder builder = ConnectionProvider.builder(poolName)
+                .maxConnections(connectionProviderProperties.getMaxConnections(subsystemName))
+                .maxIdleTime(connectionProviderProperties.getMaxIdleTime())
+                .maxLifeTime(connectionProviderProperties.getMaxLifeTime())
+                .evictInBackground(connectionProviderProperties.getEvictInterval())
+                .disposeInactivePoolsInBackground(connectionProviderProperties.getDisposeInterval(),
+                        connectionProviderProperties.getPoolInactivityTime())
+                .metrics(connectionProviderProperties.isMetricsEnabled());
+        final Integer pendingAcquireMaxCount = connectionProviderProperties.getPendingAcquireMaxCount(subsystemName);
+        if (pendingAcquireMaxCount != null) {
+            builder.pendingAcquireMaxCount(pendingAcquireMaxCount);
+        }
+        final Duration pendingAcquireTimeout = connectionProviderProperties.getPendingAcquireTimeout(subsystemName);
+        if (pendingAcquireTimeout != null) {
+            builder.pendingAcquireTimeout(pendingAcquireTimeout);
+        }
+        return builder.build();
+    }
+
+    private WebClient createWebClient(final WebClientKey webClientKey) {
+        final ClientHttpConnector connector = new ReactorClientHttpConnector(configureHttpClient(webClientKey));
+        return webClientBuilder.clone()
+            .clientConnector(connector)
+            .exchangeStrategies(ExchangeStrategies                  //remove in https://eteamproject.internal.ericsson.com/browse/ESOA-12900
+                .builder()
+                .codecs(codecs -> codecs
+                    .defaultCodecs()
+                    .maxInMemorySize(Integer.parseInt(webClientInMemorySize) * 1024))
+                .build())
+            .build();
+    }
+
+    private HttpClient configureHttpClient(final WebClientKey webClientKey) {
+        var httpClient = HttpClient.create(webClientKey.connectionProvider())
                 .wiretap("reactor.netty.http.client.HttpClient", LogLevel.DEBUG, AdvancedByteBufFormat.TEXTUAL);
-        final var connectTimeoutSeconds = httpRequest.getConnectTimeoutSeconds();
-        final var writeTimeoutSeconds = httpRequest.getWriteTimeoutSeconds();
-        final var readTimeoutSeconds = httpRequest.getReadTimeoutSeconds();
+        final var connectTimeoutSeconds = webClientKey.connectTimeoutSeconds();
+        final var writeTimeoutSeconds = webClientKey.writeTimeoutSeconds();
+        final var readTimeoutSeconds = webClientKey.readTimeoutSeconds();
 
         if (connectTimeoutSeconds != null) {
             if (LOGGER.isDebugEnabled()) {
@@ -189,7 +367,7 @@ public abstract class HttpExecutor {
         // Note: netty will only re-use a connection pool if both sslContext and connectionProvider instances are the same.
         // For example if new sslContext is created for every request, then a new connection pool is created for each request. There will
         // be no re-use of connections and will result in pools, each with a single connection that is not released.
-        final SslContext sslContext = configureSslContext(httpRequest);
+        final SslContext sslContext = webClientKey.sslContext();
         httpClient = httpClient.secure(sslContextSpec -> sslContextSpec.sslContext(sslContext));
         return httpClient;
     }
@@ -201,4 +379,10 @@ public abstract class HttpExecutor {
      * @return SslContext
      */
     protected abstract SslContext configureSslContext(HttpRequest httpRequest);
+
+    /**
+     * Key of a cached WebClient. SslContext does not override equals, so keys are only equal for the same SslContext instance.
+     */
+    private record WebClientKey(SslContext sslContext, Integer connectTimeoutSeconds, Integer readTimeoutSeconds,
+                                Integer writeTimeoutSeconds, ConnectionProvider connectionProvider) {}
 }
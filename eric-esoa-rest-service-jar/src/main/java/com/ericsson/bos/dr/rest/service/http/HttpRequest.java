@@ -41,6 +41,8 @@ public class HttpRequest {
     private String keyStoreSecretName;
     private String keyStoreSecretPassword;
     private Boolean encodeUrl = true;
+    private String subsystemName;
+    private String resourceName;
 
     public String getUrl() {
         return url;
@@ -160,10 +162,27 @@ public class HttpRequest {
         this.encodeUrl = encodeUrl;
     }
 
+    public String getSubsystemName() {
+        return subsystemName;
+    }
+
+    public void setSubsystemName(final String subsystemName) {
+        this.subsystemName = subsystemName;
+    }
+
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    public void setResourceName(final String resourceName) {
+        this.resourceName = resourceName;
+    }
+
     @Override
     public String toString() {
         return "HttpRequest{"
-                + "method='" + method + "'"
+                + "subsystemName='" + subsystemName + "'"
+                + ", method='" + method + "'"
                 + ", url='" + url + "'"
                 + ", body={" + getBody().orElse("null") + "}"
                 + ", headers=" + headers
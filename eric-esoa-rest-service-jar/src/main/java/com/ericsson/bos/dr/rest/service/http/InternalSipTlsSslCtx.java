@@ -30,6 +30,8 @@ import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 import java.util.Base64;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.ericsson.bos.dr.rest.service.exceptions.ErrorCode;
 import com.ericsson.bos.dr.rest.service.exceptions.RestServiceException;
@@ -61,7 +63,9 @@ public class InternalSipTlsSslCtx {
     @Value("${security.keystore.path}")
     private String keyStorePath;
 
-    private SslContext sslContext;
+    private final Lock lock = new ReentrantLock();
+
+    private volatile SslContext sslContext;
 
     /**
      * Register for updates to sip-tls keystores in order. The SslContext
@@ -82,14 +86,28 @@ public class InternalSipTlsSslCtx {
      *
      * @return the SSL Context.
      */
-    synchronized SslContext get() {
-        if (sslContext == null) {
-            createSslContext();
+    SslContext get() {
+        final SslContext current = sslContext;
+        if (current != null) {
+            return current;
+        }
+        lock.lock();
+        try {
+            if (sslContext == null) {
+                createSslContext();
+            }
+            return sslContext;
+        } finally {
+            lock.unlock();
         }
-        return sslContext;
     }
 
-    private synchronized void createSslContext() {
+    /**
+     * The SslContext is created under a lock rather than a synchronized block, as the key stores are read from
+     * the file system and a synchronized block would pin the carrier thread when running on virtual threads.
+     */
+    private void createSslContext() {
+        lock.lock();
         try {
             sslContext = SslContextBuilder.forClient()
                     .trustManager(getTrustManagerFactory())
@@ -97,6 +115,8 @@ public class InternalSipTlsSslCtx {
                     .build();
         } catch(final Exception e) {
             throw new RestServiceException(e, ErrorCode.GENERAL_ERROR, e.getMessage());
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.http.circuitbreaker;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker of a connected system, based on a count based sliding window of the outcome of the most recent calls.
+ * <p>
+ * The circuit breaker is CLOSED while the failure rate and slow call rate in the sliding window are below their
+ * thresholds, and the rates are only evaluated once the minimum number of calls have been recorded. When either rate
+ * reaches its threshold the circuit breaker transitions to OPEN and calls are rejected. After the wait duration in the
+ * OPEN state it transitions to HALF_OPEN, in which a limited number of calls are permitted in order to probe the
+ * connected system. Once they have completed, it transitions back to CLOSED or to OPEN according to their outcome.
+ * </p>
+ */
+public class CircuitBreaker {
+
+    /**
+     * Circuit breaker state.
+     */
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final CircuitBreakerProperties properties;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private Outcome[] window;
+    private int windowIndex;
+    private int bufferedCalls;
+    private int failedCalls;
+    private int slowCalls;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+
+    /**
+     * CircuitBreaker.
+     * @param name circuit breaker name
+     * @param properties circuit breaker properties
+     * @param nanoClock clock returning the current time in nanoseconds
+     */
+    public CircuitBreaker(final String name, final CircuitBreakerProperties properties, final LongSupplier nanoClock) {
+        this.name = name;
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        resetWindow(properties.getSlidingWindowSize());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getBufferedCalls() {
+        return bufferedCalls;
+    }
+
+    /**
+     * Get the failure rate, as a percentage of the calls in the sliding window.
+     * @return failure rate, or -1 if no calls are in the sliding window
+     */
+    public synchronized float getFailureRate() {
+        return bufferedCalls == 0 ? -1 : failedCalls * 100f / bufferedCalls;
+    }
+
+    /**
+     * Get the slow call rate, as a percentage of the calls in the sliding window.
+     * @return slow call rate, or -1 if no calls are in the sliding window
+     */
+    public synchronized float getSlowCallRate() {
+        return bufferedCalls == 0 ? -1 : slowCalls * 100f / bufferedCalls;
+    }
+
+    /**
+     * Try to acquire permission to execute a call.
+     * @return true if the call is permitted
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= properties.getWaitDurationInOpenState().toNanos()) {
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    /**
+     * Release a permission which was acquired for a call that did not complete, such as a cancelled call.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    /**
+     * Record the outcome of a permitted call.
+     * @param failed true if the call failed
+     * @param durationNanos duration of the call in nanoseconds
+     */
+    public synchronized void onResult(final boolean failed, final long durationNanos) {
+        if (state == State.OPEN) {
+            return;
+        }
+        record(new Outcome(failed, durationNanos >= properties.getSlowCallDuration().toNanos()));
+        if (state == State.HALF_OPEN) {
+            if (bufferedCalls >= properties.getPermittedCallsInHalfOpenState()) {
+                transitionTo(isThresholdReached() ? State.OPEN : State.CLOSED);
+            }
+        } else if (bufferedCalls >= Math.min(properties.getMinimumNumberOfCalls(), window.length) && isThresholdReached()) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private boolean isThresholdReached() {
+        return getFailureRate() >= properties.getFailureRateThreshold() || getSlowCallRate() >= properties.getSlowCallRateThreshold();
+    }
+
+    private void record(final Outcome outcome) {
+        final Outcome evicted = window[windowIndex];
+        if (evicted != null) {
+            bufferedCalls--;
+            failedCalls -= evicted.failed() ? 1 : 0;
+            slowCalls -= evicted.slow() ? 1 : 0;
+        }
+        window[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % window.length;
+        bufferedCalls++;
+        failedCalls += outcome.failed() ? 1 : 0;
+        slowCalls += outcome.slow() ? 1 : 0;
+    }
+
+    private void transitionTo(final State newState) {
+        state = newState;
+        switch (newState) {
+            case OPEN -> openedAtNanos = nanoClock.getAsLong();
+            case HALF_OPEN -> {
+                halfOpenPermits = properties.getPermittedCallsInHalfOpenState();
+                resetWindow(properties.getPermittedCallsInHalfOpenState());
+            }
+            case CLOSED -> resetWindow(properties.getSlidingWindowSize());
+        }
+    }
+
+    private void resetWindow(final int size) {
+        window = new Outcome[Math.max(size, 1)];
+        windowIndex = 0;
+        bufferedCalls = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+    }
+
+    private record Outcome(boolean failed, boolean slow) {}
+}
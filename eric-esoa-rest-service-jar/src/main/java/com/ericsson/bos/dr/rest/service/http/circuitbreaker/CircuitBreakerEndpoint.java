@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.http.circuitbreaker;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint exposing the state of the circuit breakers of the connected systems.
+ */
+@Component
+@Endpoint(id = "circuitbreakers")
+public class CircuitBreakerEndpoint {
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    /**
+     * Get the state of the circuit breakers.
+     * @return circuit breaker details keyed by name
+     */
+    @ReadOperation
+    public Map<String, CircuitBreakerDetails> circuitBreakers() {
+        final Map<String, CircuitBreakerDetails> circuitBreakers = new TreeMap<>();
+        circuitBreakerRegistry.getCircuitBreakers().forEach((name, circuitBreaker) -> circuitBreakers.put(name,
+            new CircuitBreakerDetails(circuitBreaker.getState().name(), circuitBreaker.getFailureRate(),
+                circuitBreaker.getSlowCallRate(), circuitBreaker.getBufferedCalls())));
+        return circuitBreakers;
+    }
+
+    /**
+     * Circuit breaker details.
+     * @param state state
+     * @param failureRate failure rate, as a percentage
+     * @param slowCallRate slow call rate, as a percentage
+     * @param bufferedCalls number of calls in the sliding window
+     */
+    public record CircuitBreakerDetails(String state, float failureRate, float slowCallRate, int bufferedCalls) {}
+}
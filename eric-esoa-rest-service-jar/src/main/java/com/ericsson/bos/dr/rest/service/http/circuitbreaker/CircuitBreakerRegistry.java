@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.http.circuitbreaker;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.ericsson.bos.dr.rest.service.exceptions.ErrorCode;
+import com.ericsson.bos.dr.rest.service.exceptions.RestServiceException;
+import com.ericsson.bos.dr.rest.service.http.HttpRequest;
+import com.ericsson.bos.dr.rest.service.http.SubsystemRegistryProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import reactor.core.publisher.Mono;
+
+/**
+ * Registry of the circuit breakers of the connected systems, keyed by subsystem name, or by subsystem name and resource
+ * if configured per resource. Requests which do not target a subsystem are not protected by a circuit breaker.
+ * A call fails if it results in an error or in a response with one of the configured failure status codes, and a
+ * call rejected by an open circuit breaker fails fast with a <code>RestServiceException</code>. Circuit breakers are
+ * disabled by default. A circuit breaker, and its meters, are removed once not used for the configured expiry, or when
+ * the subsystem is deleted.
+ */
+@Component
+public class CircuitBreakerRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreakerRegistry.class);
+
+    @Autowired
+    private CircuitBreakerProperties circuitBreakerProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SubsystemRegistryProperties subsystemRegistryProperties;
+
+    private Cache<String, CircuitBreaker> circuitBreakers;
+
+    /**
+     * Initialize the circuit breaker cache.
+     */
+    @PostConstruct
+    void init() {
+        circuitBreakers = Caffeine.newBuilder()
+            .maximumSize(subsystemRegistryProperties.getMaximumSize())
+            .expireAfterAccess(subsystemRegistryProperties.getExpireAfterAccess())
+            .scheduler(Scheduler.systemScheduler())
+            .executor(Runnable::run)
+            .removalListener(this::onCircuitBreakerRemoval)
+            .build();
+    }
+
+    /**
+     * Get the circuit breakers.
+     * @return circuit breakers keyed by name
+     */
+    public Map<String, CircuitBreaker> getCircuitBreakers() {
+        return Collections.unmodifiableMap(circuitBreakers.asMap());
+    }
+
+    /**
+     * Remove the circuit breakers of the subsystem, including those of its resources, and their meters.
+     * @param subsystemName subsystem name
+     */
+    public void removeCircuitBreakers(final String subsystemName) {
+        circuitBreakers.invalidateAll(circuitBreakers.asMap().keySet().stream()
+            .filter(name -> name.equals(subsystemName) || name.startsWith(subsystemName + "/"))
+            .toList());
+    }
+
+    /**
+     * Execute the http call, protected by the circuit breaker for the http request.
+     * @param httpRequest http request
+     * @param call http call
+     * @param <T> type of the response body
+     * @return ResponseEntity Mono
+     */
+    public <T> Mono<ResponseEntity<T>> execute(final HttpRequest httpRequest, final Mono<ResponseEntity<T>> call) {
+        final String name = getName(httpRequest);
+        if (name == null) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            final CircuitBreaker circuitBreaker = circuitBreakers.get(name, this::createCircuitBreaker);
+            if (!circuitBreaker.tryAcquirePermission()) {
+                meterRegistry.counter("circuit_breaker_calls", "name", name, "kind", "not_permitted").increment();
+                return Mono.error(new RestServiceException(ErrorCode.CIRCUIT_BREAKER_OPEN, name));
+            }
+            final long start = System.nanoTime();
+            final AtomicBoolean completed = new AtomicBoolean();
+            return call
+                .doOnSuccess(response -> onResult(circuitBreaker, completed, isFailure(response), start))
+                .doOnError(error -> onResult(circuitBreaker, completed, true, start))
+                .doOnCancel(() -> {
+                    if (completed.compareAndSet(false, true)) {
+                        circuitBreaker.releasePermission();
+                    }
+                });
+        });
+    }
+
+    private boolean isFailure(final ResponseEntity<?> response) {
+        return response == null || circuitBreakerProperties.getFailureStatusCodes().contains(response.getStatusCode().value());
+    }
+
+    private void onResult(final CircuitBreaker circuitBreaker, final AtomicBoolean completed, final boolean failed,
+                          final long start) {
+        if (!completed.compareAndSet(false, true)) {
+            return;
+        }
+        final CircuitBreaker.State previousState = circuitBreaker.getState();
+        circuitBreaker.onResult(failed, System.nanoTime() - start);
+        meterRegistry.counter("circuit_breaker_calls", "name", circuitBreaker.getName(), "kind", failed ? "failed" : "successful")
+            .increment();
+        final CircuitBreaker.State state = circuitBreaker.getState();
+        if (state != previousState) {
+            LOGGER.warn("Circuit breaker {} transitioned from {} to {}", circuitBreaker.getName(), previousState, state);
+        }
+    }
+
+    private String getName(final HttpRequest httpRequest) {
+        if (!circuitBreakerProperties.isEnabled() || httpRequest.getSubsystemName() == null) {
+            return null;
+        }
+        if (circuitBreakerProperties.isPerResource() && httpRequest.getResourceName() != null) {
+            return httpRequest.getSubsystemName() + "/" + httpRequest.getResourceName();
+        }
+        return httpRequest.getSubsystemName();
+    }
+
+    private void onCircuitBreakerRemoval(final String name, final CircuitBreaker circuitBreaker, final RemovalCause cause) {
+        Search.in(meterRegistry).name(meterName -> meterName.startsWith("circuit_breaker_")).tag("name", name).meters()
+            .forEach(meterRegistry::remove);
+    }
+
+    private CircuitBreaker createCircuitBreaker(final String name) {
+        final var circuitBreaker = new CircuitBreaker(name, circuitBreakerProperties, System::nanoTime);
+        for (final CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("circuit_breaker_state", circuitBreaker, c -> c.getState() == state ? 1 : 0)
+                .description("State of the circuit breaker, 1 if in the state")
+                .tag("name", name)
+                .tag("state", state.name().toLowerCase())
+                .register(meterRegistry);
+        }
+        Gauge.builder("circuit_breaker_failure_rate", circuitBreaker, CircuitBreaker::getFailureRate)
+            .description("Failure rate of the calls in the sliding window, as a percentage")
+            .tag("name", name)
+            .register(meterRegistry);
+        Gauge.builder("circuit_breaker_slow_call_rate", circuitBreaker, CircuitBreaker::getSlowCallRate)
+            .description("Slow call rate of the calls in the sliding window, as a percentage")
+            .tag("name", name)
+            .register(meterRegistry);
+        for (final String kind : new String[] {"successful", "failed", "not_permitted"}) {
+            Counter.builder("circuit_breaker_calls")
+                .description("Number of calls through the circuit breaker")
+                .tag("name", name)
+                .tag("kind", kind)
+                .register(meterRegistry);
+        }
+        return circuitBreaker;
+    }
+}
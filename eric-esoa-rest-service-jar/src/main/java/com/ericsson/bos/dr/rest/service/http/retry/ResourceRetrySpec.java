@@ -17,9 +17,9 @@ package com.ericsson.bos.dr.rest.service.http.retry;
 
 import static com.ericsson.bos.dr.rest.service.utils.ExceptionChecks.isConnectionTimeoutOrRefused;
 
-import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
@@ -28,6 +28,8 @@ import org.springframework.web.reactive.function.client.WebClientException;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import com.ericsson.bos.dr.rest.service.condition.ConditionContext;
+import com.ericsson.bos.dr.rest.service.condition.ResponseCondition;
 import com.ericsson.bos.dr.rest.service.substitution.SubstitutionEngine;
 import com.ericsson.bos.dr.rest.service.utils.SpringContextHolder;
 import com.ericsson.bos.dr.rest.web.v1.api.model.RetryHandlerDto;
@@ -47,6 +49,13 @@ import reactor.util.retry.Retry;
  * The condition is required to be a valid jinja expression. The substitution context supplied to the expression consists
  * of the response headers (response.headers), response code (response.code) and response body (response.body). In addition
  * a substitution property 'connectionTimeout' with value true/false is included to support retrying when connection times out.
+ * Alternatively, or in addition, a structured condition may be defined, which is evaluated without jinja.
+ * </p>
+ * <p>
+ * The back off between retries is calculated by <code>RetryBackOff</code>. If the requests are to a
+ * connected system with a retry budget, then a retry is only performed if permitted by the retry budget. If a retry
+ * permit is supplied, such as a rate limit permit, then each retry waits for it after the back off, and is not
+ * performed if it is not permitted.
  * </p>
  */
 public class ResourceRetrySpec extends Retry {
@@ -54,7 +63,10 @@ public class ResourceRetrySpec extends Retry {
     private static final Logger LOGGER = LoggerFactory.getLogger(ResourceRetrySpec.class);
 
     private final List<RetryHandlerDto> retryHandlers;
+    private final RetryBudget retryBudget;
+    private final Mono<Void> retryPermit;
     private RetryHandlerDto matchedRetryHandler;
+    private RetryBackOff retryBackOff;
 
     /**
      * ResourceRetrySpec.
@@ -62,7 +74,30 @@ public class ResourceRetrySpec extends Retry {
      * @param retryHandlers      retry handlers
      */
     public ResourceRetrySpec(final List<RetryHandlerDto> retryHandlers) {
+        this(retryHandlers, null);
+    }
+
+    /**
+     * ResourceRetrySpec.
+     *
+     * @param retryHandlers      retry handlers
+     * @param retryBudget        retry budget, or null if retries are not limited by a budget
+     */
+    public ResourceRetrySpec(final List<RetryHandlerDto> retryHandlers, final RetryBudget retryBudget) {
+        this(retryHandlers, retryBudget, Mono.empty());
+    }
+
+    /**
+     * ResourceRetrySpec.
+     *
+     * @param retryHandlers      retry handlers
+     * @param retryBudget        retry budget, or null if retries are not limited by a budget
+     * @param retryPermit        Mono which completes once a retry is permitted, or errors if it is not permitted
+     */
+    public ResourceRetrySpec(final List<RetryHandlerDto> retryHandlers, final RetryBudget retryBudget, final Mono<Void> retryPermit) {
         this.retryHandlers = retryHandlers;
+        this.retryBudget = retryBudget;
+        this.retryPermit = retryPermit;
     }
 
     @Override
@@ -75,16 +110,27 @@ public class ResourceRetrySpec extends Retry {
         final var retriesAttempted = rs.totalRetries();
         if (retriesAttempted == 0 && isRetryable(failure)) {
             // attempt to find retryHandler after first failure
-            this.matchedRetryHandler = retryHandlers.stream()
-                    .filter(rh -> testCondition(rh, (WebClientException) failure)).findFirst()
-                    .orElseThrow(() -> Exceptions.propagate(failure));
+            this.matchedRetryHandler = findRetryHandler((WebClientException) failure);
+            if (this.matchedRetryHandler == null) {
+                throw Exceptions.propagate(failure);
+            }
+            this.retryBackOff = new RetryBackOff(this.matchedRetryHandler.getRetryPolicy(), () -> ThreadLocalRandom.current().nextDouble());
         }
 
         if (this.matchedRetryHandler != null) {
             final RetryPolicyDto retryPolicy = this.matchedRetryHandler.getRetryPolicy();
             if (retriesAttempted < retryPolicy.getMaxRetries()) {
-                final var duration = Duration.parse("PT".concat(retryPolicy.getBackOffSeconds().toString()).concat("S"));
-                return Mono.delay(duration).thenReturn(rs.totalRetries());
+                if (retryBudget != null && !retryBudget.tryAcquireRetry()) {
+                    LOGGER.warn("Retry budget exhausted for {}, not retrying", retryBudget.getName());
+                    throw Exceptions.propagate(failure);
+                }
+                return Mono.delay(retryBackOff.next(retriesAttempted))
+                        .then(retryPermit)
+                        .onErrorMap(error -> {
+                            LOGGER.warn("Retry not permitted: {}, not retrying", error.getMessage());
+                            return failure;
+                        })
+                        .thenReturn(rs.totalRetries());
             }
         }
 
@@ -97,9 +143,49 @@ public class ResourceRetrySpec extends Retry {
                         && isConnectionTimeoutOrRefused(requestException));
     }
 
-    private boolean testCondition(final RetryHandlerDto retryHandler, final WebClientException webClientException) {
+    /**
+     * Find the first retry handler whose conditions match the failure. The structured condition is evaluated before the
+     * jinja retry condition. The substitution context for the jinja retry conditions is created once, and only if
+     * required, so that the response body is only parsed once for all conditions. A condition which cannot be
+     * evaluated, such as a jq expression which fails, does not match.
+     */
+    private RetryHandlerDto findRetryHandler(final WebClientException failure) {
+        final var conditionContext = failure instanceof final WebClientResponseException responseException
+                ? new ConditionContext(responseException.getStatusCode().value(), responseException.getHeaders(),
+                        responseException::getResponseBodyAsString, false)
+                : new ConditionContext(null, null, () -> null,
+                        failure instanceof final WebClientRequestException requestException && isConnectionTimeoutOrRefused(requestException));
+        Map<String, Object> substitutionCtx = null;
+        for (final RetryHandlerDto retryHandler : retryHandlers) {
+            if (retryHandler.getCondition() != null && !testCondition(retryHandler, conditionContext)) {
+                continue;
+            }
+            if (retryHandler.getRetryCondition() != null) {
+                if (substitutionCtx == null) {
+                    substitutionCtx = new RetrySubstitutionCtx(failure).get();
+                }
+                if (!testCondition(retryHandler, substitutionCtx)) {
+                    continue;
+                }
+            } else {
+                LOGGER.info("Found matching retry handler: {}", retryHandler);
+            }
+            return retryHandler;
+        }
+        return null;
+    }
+
+    private boolean testCondition(final RetryHandlerDto retryHandler, final ConditionContext conditionContext) {
+        try {
+            return ResponseCondition.of(retryHandler.getCondition()).test(conditionContext);
+        } catch (final Exception e) {
+            LOGGER.error("Error processing retry handler condition: " + retryHandler.getCondition(), e);
+        }
+        return false;
+    }
+
+    private boolean testCondition(final RetryHandlerDto retryHandler, final Map<String, Object> substitutionCtx) {
         try {
-            final Map<String, Object> substitutionCtx = new RetrySubstitutionCtx(webClientException).get();
             final SubstitutionEngine substitutionEngine = SpringContextHolder.getBean(SubstitutionEngine.class);
             final boolean result = Boolean.parseBoolean(substitutionEngine.render(retryHandler.getRetryCondition(), substitutionCtx));
             if (result) {
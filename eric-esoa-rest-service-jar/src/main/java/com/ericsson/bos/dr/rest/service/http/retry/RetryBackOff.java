@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.http.retry;
+
+import java.time.Duration;
+import java.util.function.DoubleSupplier;
+
+import com.ericsson.bos.dr.rest.web.v1.api.model.RetryPolicyDto;
+
+/**
+ * Back off between the retries of a request, according to a <code>RetryPolicyDto</code>.
+ * <p>
+ * The back off is multiplied by the back off multiplier after each retry, up to the max back off. If the max back off
+ * is not set, then the back off is capped at 60 seconds, or at the initial back off if greater, so that an exponential
+ * back off does not grow without bound. Jitter may be applied so that retries of concurrent requests are spread out
+ * rather than sent in waves.
+ * </p>
+ */
+public class RetryBackOff {
+
+    static final double DEFAULT_MAX_BACK_OFF_SECONDS = 60;
+
+    private final double backOffSeconds;
+    private final double maxBackOffSeconds;
+    private final double multiplier;
+    private final RetryPolicyDto.JitterEnum jitter;
+    private final DoubleSupplier random;
+    private double previousBackOffSeconds;
+
+    /**
+     * RetryBackOff.
+     * @param retryPolicy retry policy
+     * @param random supplier of random numbers between 0, inclusive, and 1, exclusive
+     */
+    public RetryBackOff(final RetryPolicyDto retryPolicy, final DoubleSupplier random) {
+        this.backOffSeconds = retryPolicy.getBackOffSeconds();
+        this.maxBackOffSeconds = retryPolicy.getMaxBackOffSeconds() != null ? retryPolicy.getMaxBackOffSeconds()
+            : Math.max(backOffSeconds, DEFAULT_MAX_BACK_OFF_SECONDS);
+        this.multiplier = retryPolicy.getBackOffMultiplier() != null ? retryPolicy.getBackOffMultiplier() : 1;
+        this.jitter = retryPolicy.getJitter() != null ? retryPolicy.getJitter() : RetryPolicyDto.JitterEnum.NONE;
+        this.random = random;
+        this.previousBackOffSeconds = backOffSeconds;
+    }
+
+    /**
+     * Get the back off before the next retry.
+     * @param retriesAttempted number of retries already attempted
+     * @return back off
+     */
+    public Duration next(final long retriesAttempted) {
+        final double exponentialBackOffSeconds = Math.min(maxBackOffSeconds, backOffSeconds * Math.pow(multiplier, retriesAttempted));
+        final double jitteredBackOffSeconds = switch (jitter) {
+            case FULL -> random.getAsDouble() * exponentialBackOffSeconds;
+            case DECORRELATED -> {
+                final double upperBound = Math.max(backOffSeconds, previousBackOffSeconds * 3);
+                yield Math.min(maxBackOffSeconds, backOffSeconds + random.getAsDouble() * (upperBound - backOffSeconds));
+            }
+            default -> exponentialBackOffSeconds;
+        };
+        previousBackOffSeconds = jitteredBackOffSeconds;
+        return Duration.ofNanos((long) (jitteredBackOffSeconds * 1e9));
+    }
+}
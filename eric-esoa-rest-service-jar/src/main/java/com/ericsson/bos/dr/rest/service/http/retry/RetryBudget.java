@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.http.retry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Retry budget of a connected system.
+ * <p>
+ * The requests and retries are counted in a sliding window of one second buckets. A retry is permitted while the
+ * retries in the window are fewer than the retry percentage of the requests in the window, plus a minimum number of
+ * retries per second so that retries are permitted at low request rates. This bounds the additional load retries
+ * can put on a connected system which is failing all requests.
+ * </p>
+ */
+public class RetryBudget {
+
+    private final String name;
+    private final RetryBudgetProperties properties;
+    private final LongSupplier nanoClock;
+    private final long[] requests;
+    private final long[] retries;
+    private long currentSecond;
+    private long exhausted;
+
+    /**
+     * RetryBudget.
+     * @param name retry budget name
+     * @param properties retry budget properties
+     * @param nanoClock clock returning the current time in nanoseconds
+     */
+    public RetryBudget(final String name, final RetryBudgetProperties properties, final LongSupplier nanoClock) {
+        this.name = name;
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        final int buckets = (int) Math.max(properties.getWindow().toSeconds(), 1);
+        this.requests = new long[buckets];
+        this.retries = new long[buckets];
+        this.currentSecond = currentSecond();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Record a request.
+     */
+    public synchronized void recordRequest() {
+        requests[advance()]++;
+    }
+
+    /**
+     * Try to acquire a retry from the budget, recording the retry if permitted.
+     * @return true if the retry is permitted
+     */
+    public synchronized boolean tryAcquireRetry() {
+        final int bucket = advance();
+        if (sum(retries) >= getAllowedRetries()) {
+            exhausted++;
+            return false;
+        }
+        retries[bucket]++;
+        return true;
+    }
+
+    /**
+     * Get the number of retries which were not permitted as the budget was exhausted.
+     * @return number of retries not permitted
+     */
+    public synchronized long getExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * Get the number of retries remaining in the budget.
+     * @return remaining retries
+     */
+    public synchronized double getRemainingRetries() {
+        advance();
+        return Math.max(getAllowedRetries() - sum(retries), 0);
+    }
+
+    private double getAllowedRetries() {
+        return sum(requests) * properties.getRetryPercent() / 100 + (double) properties.getMinRetriesPerSecond() * requests.length;
+    }
+
+    private int advance() {
+        final long second = currentSecond();
+        final long elapsed = Math.min(second - currentSecond, requests.length);
+        for (long i = 1; i <= elapsed; i++) {
+            final int bucket = (int) ((currentSecond + i) % requests.length);
+            requests[bucket] = 0;
+            retries[bucket] = 0;
+        }
+        currentSecond = Math.max(currentSecond, second);
+        return (int) (currentSecond % requests.length);
+    }
+
+    private long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(nanoClock.getAsLong());
+    }
+
+    private static long sum(final long[] counts) {
+        long sum = 0;
+        for (final long count : counts) {
+            sum += count;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.http.retry;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.ericsson.bos.dr.rest.service.http.SubsystemRegistryProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+
+/**
+ * Registry of the retry budgets of the connected systems, keyed by subsystem name.
+ * A retry budget, and its meters, are removed once not used for the configured expiry, or when the subsystem is deleted.
+ */
+@Component
+public class RetryBudgetRegistry {
+
+    @Autowired
+    private RetryBudgetProperties retryBudgetProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SubsystemRegistryProperties subsystemRegistryProperties;
+
+    private Cache<String, RetryBudget> retryBudgets;
+
+    /**
+     * Initialize the retry budget cache.
+     */
+    @PostConstruct
+    void init() {
+        retryBudgets = Caffeine.newBuilder()
+                .maximumSize(subsystemRegistryProperties.getMaximumSize())
+                .expireAfterAccess(subsystemRegistryProperties.getExpireAfterAccess())
+                .scheduler(Scheduler.systemScheduler())
+                .executor(Runnable::run)
+                .removalListener(this::onRetryBudgetRemoval)
+                .build();
+    }
+
+    /**
+     * Get the retry budget of the subsystem.
+     * @param subsystemName subsystem name
+     * @return retry budget, or null if retries are not limited by a budget
+     */
+    public RetryBudget get(final String subsystemName) {
+        if (!retryBudgetProperties.isEnabled() || subsystemName == null) {
+            return null;
+        }
+        return retryBudgets.get(subsystemName, this::createRetryBudget);
+    }
+
+    /**
+     * Remove the retry budget of the subsystem, and its meters.
+     * @param subsystemName subsystem name
+     */
+    public void removeRetryBudget(final String subsystemName) {
+        retryBudgets.invalidate(subsystemName);
+    }
+
+    private void onRetryBudgetRemoval(final String subsystemName, final RetryBudget retryBudget, final RemovalCause cause) {
+        Search.in(meterRegistry).name(name -> name.startsWith("http_retry_budget_")).tag("subsystem", subsystemName).meters()
+            .forEach(meterRegistry::remove);
+    }
+
+    private RetryBudget createRetryBudget(final String subsystemName) {
+        final var retryBudget = new RetryBudget(subsystemName, retryBudgetProperties, System::nanoTime);
+        Gauge.builder("http_retry_budget_remaining", retryBudget, RetryBudget::getRemainingRetries)
+            .description("Number of retries remaining in the retry budget of the connected system")
+            .tag("subsystem", subsystemName)
+            .register(meterRegistry);
+        FunctionCounter.builder("http_retry_budget_exhausted", retryBudget, RetryBudget::getExhausted)
+            .description("Number of retries not performed as the retry budget of the connected system was exhausted")
+            .tag("subsystem", subsystemName)
+            .register(meterRegistry);
+        return retryBudget;
+    }
+}
@@ -59,7 +59,7 @@ public class RetrySubstitutionCtx implements Supplier<Map<String, Object>> {
                     .map(HttpHeaders::toSingleValueMap).orElse(Collections.emptyMap()));
             responseSubstitionCtx.put(RESPONSE_CODE_KEY, webClientResponseException.getStatusCode().value());
             final Object body = Optional.ofNullable(webClientResponseException.getResponseBodyAsString())
-                    .map(s -> JSON.isJsonStr(s) ? JSON.readObjectForSubstitution(s) : s).orElse(null);
+                    .map(JSON::readObjectForSubstitutionIfJson).orElse(null);
             responseSubstitionCtx.put(RESPONSE_BODY_KEY, body);
         } else {
             responseSubstitionCtx.put(RESPONSE_HEADERS_KEY, Collections.emptyMap());
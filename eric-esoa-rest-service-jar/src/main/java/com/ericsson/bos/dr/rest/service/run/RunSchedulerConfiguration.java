@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.run;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Run Scheduler Configuration.
+ * Provides the scheduler on which the blocking parts of a run are executed, i.e. resolving the resource configuration,
+ * connected system and authentication, and processing the response. A bounded elastic scheduler with configurable caps
+ * is used. Executing runs on virtual threads requires the build and base image to be upgraded to Java 21.
+ */
+@Configuration
+public class RunSchedulerConfiguration {
+
+    private static final String THREAD_NAME_PREFIX = "run";
+
+    @Value("${service.run.scheduler.maxThreads:200}")
+    private int maxThreads;
+
+    @Value("${service.run.scheduler.maxQueuedTasks:10000}")
+    private int maxQueuedTasks;
+
+    /**
+     * runScheduler bean.
+     * @return Scheduler bean
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler runScheduler() {
+        return Schedulers.newBoundedElastic(maxThreads, maxQueuedTasks, THREAD_NAME_PREFIX);
+    }
+}
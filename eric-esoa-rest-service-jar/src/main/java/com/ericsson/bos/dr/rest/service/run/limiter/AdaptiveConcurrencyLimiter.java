@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.run.limiter;
+
+/**
+ * Adaptive concurrency limiter of a connected system, using additive increase and multiplicative decrease (AIMD).
+ * <p>
+ * A call is permitted while the number of calls in flight is below the limit. The limit is increased by one when a
+ * call completes without being dropped and at least half of the limit is in use, so that the limit only grows while
+ * it is actually being used. The limit is decreased by the backoff ratio when a call is dropped, i.e. fails, is
+ * rejected by the connected system as overloaded, or exceeds the latency threshold.
+ * </p>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final ConcurrencyLimiterProperties properties;
+
+    private double limit;
+    private int inFlight;
+    private long rejected;
+
+    /**
+     * AdaptiveConcurrencyLimiter.
+     * @param name limiter name
+     * @param properties concurrency limiter properties
+     */
+    public AdaptiveConcurrencyLimiter(final String name, final ConcurrencyLimiterProperties properties) {
+        this.name = name;
+        this.properties = properties;
+        this.limit = Math.min(Math.max(properties.getInitialLimit(), properties.getMinLimit()), properties.getMaxLimit());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Try to acquire permission to execute a call.
+     * @return true if the call is permitted
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            rejected++;
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Release a permission which was acquired for a call that did not complete, such as a cancelled call,
+     * without adapting the limit.
+     */
+    public synchronized void release() {
+        inFlight--;
+    }
+
+    /**
+     * Release the permission of a completed call and adapt the limit to its outcome.
+     * @param durationNanos duration of the call in nanoseconds
+     * @param dropped true if the call failed or was rejected by the connected system as overloaded
+     */
+    public synchronized void onSample(final long durationNanos, final boolean dropped) {
+        final int callsInFlight = inFlight--;
+        if (dropped || durationNanos >= properties.getLatencyThreshold().toNanos()) {
+            limit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+        } else if (callsInFlight * 2 >= limit) {
+            limit = Math.min(properties.getMaxLimit(), limit + 1);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.run.limiter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.ericsson.bos.dr.rest.service.exceptions.ErrorCode;
+import com.ericsson.bos.dr.rest.service.exceptions.RestServiceException;
+import com.ericsson.bos.dr.rest.service.http.SubsystemRegistryProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Registry of the adaptive concurrency limiters of the connected systems, keyed by subsystem name.
+ * A run which would exceed the concurrency limit of its connected system is rejected with a
+ * <code>RestServiceException</code>, rather than queued, so that a burst of runs towards one connected system
+ * does not hold resources needed by runs towards other connected systems. A run rejected by an open circuit breaker
+ * releases its permission without adapting the limit. Concurrency limiters are disabled by default. A concurrency
+ * limiter, and its meters, are removed once not used for the configured expiry, or when the subsystem is deleted.
+ */
+@Component
+public class ConcurrencyLimiterRegistry {
+
+    @Autowired
+    private ConcurrencyLimiterProperties concurrencyLimiterProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SubsystemRegistryProperties subsystemRegistryProperties;
+
+    private Cache<String, AdaptiveConcurrencyLimiter> concurrencyLimiters;
+
+    /**
+     * Initialize the concurrency limiter cache.
+     */
+    @PostConstruct
+    void init() {
+        concurrencyLimiters = Caffeine.newBuilder()
+            .maximumSize(subsystemRegistryProperties.getMaximumSize())
+            .expireAfterAccess(subsystemRegistryProperties.getExpireAfterAccess())
+            .scheduler(Scheduler.systemScheduler())
+            .executor(Runnable::run)
+            .removalListener(this::onConcurrencyLimiterRemoval)
+            .build();
+    }
+
+    /**
+     * Remove the concurrency limiter of the subsystem, and its meters.
+     * @param subsystemName subsystem name
+     */
+    public void removeConcurrencyLimiter(final String subsystemName) {
+        concurrencyLimiters.invalidate(subsystemName);
+    }
+
+    /**
+     * Execute the http call, limited by the concurrency limiter of the subsystem.
+     * @param subsystemName subsystem name
+     * @param call http call
+     * @param <T> type of the response body
+     * @return ResponseEntity Mono
+     */
+    public <T> Mono<ResponseEntity<T>> execute(final String subsystemName, final Mono<ResponseEntity<T>> call) {
+        return execute(subsystemName, call, (response, permit) -> {
+            permit.onSample(permit.elapsed(), isOverloaded(response));
+            return response;
+        });
+    }
+
+    /**
+     * Execute the streaming http call, limited by the concurrency limiter of the subsystem. The permission is held
+     * until the response body completes, while the latency used to adapt the limit is the time until the response
+     * headers are received.
+     * @param subsystemName subsystem name
+     * @param call streaming http call
+     * @return ResponseEntity Mono
+     */
+    public Mono<ResponseEntity<Flux<DataBuffer>>> executeStreaming(final String subsystemName,
+                                                                   final Mono<ResponseEntity<Flux<DataBuffer>>> call) {
+        return execute(subsystemName, call, (response, permit) -> {
+            final long latency = permit.elapsed();
+            final boolean overloaded = isOverloaded(response);
+            final Flux<DataBuffer> body = response.getBody() == null ? Flux.empty() : response.getBody();
+            return new ResponseEntity<>(body
+                .doOnComplete(() -> permit.onSample(latency, overloaded))
+                .doOnError(error -> permit.onSample(latency, true))
+                .doOnCancel(permit::release), response.getHeaders(), response.getStatusCode());
+        });
+    }
+
+    private <T> Mono<ResponseEntity<T>> execute(final String subsystemName, final Mono<ResponseEntity<T>> call,
+                                                final BiFunction<ResponseEntity<T>, Permit, ResponseEntity<T>> onResponse) {
+        if (!concurrencyLimiterProperties.isEnabled() || subsystemName == null) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            final AdaptiveConcurrencyLimiter limiter = concurrencyLimiters.get(subsystemName, this::createConcurrencyLimiter);
+            if (!limiter.tryAcquire()) {
+                return Mono.error(new RestServiceException(ErrorCode.CONCURRENCY_LIMIT_EXCEEDED, subsystemName,
+                    String.valueOf(limiter.getLimit())));
+            }
+            final var permit = new Permit(limiter, System.nanoTime());
+            return call
+                .map(response -> {
+                    permit.responded = true;
+                    return onResponse.apply(response, permit);
+                })
+                .doOnSuccess(response -> {
+                    if (response == null) {
+                        permit.onSample(permit.elapsed(), true);
+                    }
+                })
+                .doOnError(error -> {
+                    if (isCircuitBreakerOpen(error)) {
+                        permit.release();
+                    } else {
+                        permit.onSample(permit.elapsed(), true);
+                    }
+                })
+                .doOnCancel(() -> {
+                    if (!permit.responded) {
+                        permit.release();
+                    }
+                });
+        });
+    }
+
+    private boolean isCircuitBreakerOpen(final Throwable error) {
+        return error instanceof final RestServiceException restServiceException
+            && ErrorCode.CIRCUIT_BREAKER_OPEN.getErrorCode().equals(restServiceException.getErrorMessage().getErrorCode());
+    }
+
+    private boolean isOverloaded(final ResponseEntity<?> response) {
+        return response.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)
+            || response.getStatusCode().isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private void onConcurrencyLimiterRemoval(final String subsystemName, final AdaptiveConcurrencyLimiter limiter,
+                                             final RemovalCause cause) {
+        Search.in(meterRegistry).name(name -> name.startsWith("run_concurrency_")).tag("subsystem", subsystemName).meters()
+            .forEach(meterRegistry::remove);
+    }
+
+    private AdaptiveConcurrencyLimiter createConcurrencyLimiter(final String subsystemName) {
+        final var limiter = new AdaptiveConcurrencyLimiter(subsystemName, concurrencyLimiterProperties);
+        Gauge.builder("run_concurrency_limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+            .description("Current concurrency limit of the runs towards the connected system")
+            .tag("subsystem", subsystemName)
+            .register(meterRegistry);
+        Gauge.builder("run_concurrency_in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+            .description("Number of runs in flight towards the connected system")
+            .tag("subsystem", subsystemName)
+            .register(meterRegistry);
+        FunctionCounter.builder("run_concurrency_rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+            .description("Number of runs rejected as the concurrency limit of the connected system was reached")
+            .tag("subsystem", subsystemName)
+            .register(meterRegistry);
+        return limiter;
+    }
+
+    /**
+     * Permission acquired for a call, which is either sampled or released once only. Once the response is received,
+     * the permission is owned by the response handling, so a later cancel of the call does not release it.
+     */
+    private static final class Permit {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long start;
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean responded;
+
+        private Permit(final AdaptiveConcurrencyLimiter limiter, final long start) {
+            this.limiter = limiter;
+            this.start = start;
+        }
+
+        private long elapsed() {
+            return System.nanoTime() - start;
+        }
+
+        private void onSample(final long durationNanos, final boolean dropped) {
+            if (completed.compareAndSet(false, true)) {
+                limiter.onSample(durationNanos, dropped);
+            }
+        }
+
+        private void release() {
+            if (completed.compareAndSet(false, true)) {
+                limiter.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.run.limiter;
+
+import java.time.Duration;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.ericsson.bos.dr.rest.service.connectivity.ConnectionProfile;
+import com.ericsson.bos.dr.rest.service.exceptions.ErrorCode;
+import com.ericsson.bos.dr.rest.service.exceptions.RestServiceException;
+import com.ericsson.bos.dr.rest.service.http.HttpRequest;
+import com.ericsson.bos.dr.rest.service.http.SubsystemRegistryProperties;
+import com.ericsson.bos.dr.rest.service.run.RunExecutionContext;
+import com.ericsson.bos.dr.rest.web.v1.api.model.RateLimitDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.search.Search;
+import reactor.core.publisher.Mono;
+
+/**
+ * Registry of the token bucket rate limiters of the connected systems and their resources.
+ * A connected system is rate limited if the rate limit is set in its connection properties, and a resource is rate
+ * limited, per connected system, if the rate limit is set for the resource in the resource configuration.
+ * A run waits, without blocking, for a permit from each rate limiter which applies to it, up to the max wait, and is
+ * otherwise rejected with a <code>RestServiceException</code> rather than sending a request which the connected
+ * system would reject. Each retry of a run also requires a permit. A rate limiter is replaced if its rate is
+ * reconfigured. A rate limiter, and its meters, are removed once not used for the configured expiry, or when the
+ * subsystem is deleted.
+ * <p>
+ * The rate limiters are local to each replica, so the effective rate limit towards a connected system is the number
+ * of replicas multiplied by the configured permits per second.
+ * </p>
+ */
+@Component
+public class RateLimiterRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimiterRegistry.class);
+
+    @Autowired
+    private RateLimiterProperties rateLimiterProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SubsystemRegistryProperties subsystemRegistryProperties;
+
+    private Cache<String, TokenBucketRateLimiter> rateLimiters;
+
+    /**
+     * Initialize the rate limiter cache.
+     */
+    @PostConstruct
+    void init() {
+        rateLimiters = Caffeine.newBuilder()
+            .maximumSize(subsystemRegistryProperties.getMaximumSize())
+            .expireAfterAccess(subsystemRegistryProperties.getExpireAfterAccess())
+            .scheduler(Scheduler.systemScheduler())
+            .executor(Runnable::run)
+            .removalListener(this::onRateLimiterRemoval)
+            .build();
+    }
+
+    /**
+     * Remove the rate limiters of the subsystem, including those of its resources, and their meters.
+     * @param subsystemName subsystem name
+     */
+    public void removeRateLimiters(final String subsystemName) {
+        rateLimiters.invalidateAll(rateLimiters.asMap().keySet().stream()
+            .filter(name -> name.equals(subsystemName) || name.startsWith(subsystemName + "/"))
+            .toList());
+    }
+
+    /**
+     * Acquire a permit from the rate limiters of the subsystem and resource, waiting up to the max wait.
+     * The permits reserved are released if the subscription is cancelled while waiting.
+     * @param httpRequest http request
+     * @param runExecutionContext run execution context
+     * @return Mono which completes once permitted, or errors with a <code>RestServiceException</code> if not
+     * permitted within the max wait
+     */
+    public Mono<Void> acquirePermit(final HttpRequest httpRequest, final RunExecutionContext runExecutionContext) {
+        if (!rateLimiterProperties.isEnabled() || httpRequest.getSubsystemName() == null) {
+            return Mono.empty();
+        }
+        final ConnectionProfile connectionProfile = runExecutionContext.getSubsystem().getConnectionProfile();
+        final TokenBucketRateLimiter subsystemRateLimiter = connectionProfile.rateLimitPermitsPerSecond() == null ? null
+            : getRateLimiter(httpRequest.getSubsystemName(), connectionProfile.rateLimitPermitsPerSecond(), connectionProfile.rateLimitBurst());
+        final RateLimitDto resourceRateLimit = runExecutionContext.getResourceMethod().getRateLimit().orElse(null);
+        final TokenBucketRateLimiter resourceRateLimiter = resourceRateLimit == null ? null
+            : getRateLimiter(httpRequest.getSubsystemName() + "/" + httpRequest.getResourceName(), resourceRateLimit.getPermitsPerSecond(),
+                resourceRateLimit.getBurst());
+        if (subsystemRateLimiter == null && resourceRateLimiter == null) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            long waitNanos = 0;
+            TokenBucketRateLimiter waitingOn = null;
+            if (subsystemRateLimiter != null) {
+                waitNanos = subsystemRateLimiter.reserve(rateLimiterProperties.getMaxWait().toNanos());
+                if (waitNanos < 0) {
+                    return reject(subsystemRateLimiter);
+                }
+                waitingOn = subsystemRateLimiter;
+            }
+            if (resourceRateLimiter != null) {
+                final long resourceWaitNanos = resourceRateLimiter.reserve(getMaxWait(resourceRateLimit).toNanos());
+                if (resourceWaitNanos < 0) {
+                    if (subsystemRateLimiter != null) {
+                        subsystemRateLimiter.release();
+                    }
+                    return reject(resourceRateLimiter);
+                }
+                if (waitingOn == null || resourceWaitNanos > waitNanos) {
+                    waitNanos = resourceWaitNanos;
+                    waitingOn = resourceRateLimiter;
+                }
+            }
+            if (waitNanos == 0) {
+                return Mono.empty();
+            }
+            final Duration wait = Duration.ofNanos(waitNanos);
+            LOGGER.debug("Waiting {} for rate limit permit: {}", wait, waitingOn.getName());
+            meterRegistry.timer("run_rate_limit_wait", "name", waitingOn.getName()).record(wait);
+            return Mono.delay(wait)
+                .doOnCancel(() -> {
+                    if (subsystemRateLimiter != null) {
+                        subsystemRateLimiter.release();
+                    }
+                    if (resourceRateLimiter != null) {
+                        resourceRateLimiter.release();
+                    }
+                })
+                .then();
+        });
+    }
+
+    private <T> Mono<T> reject(final TokenBucketRateLimiter rateLimiter) {
+        meterRegistry.counter("run_rate_limit_rejected", "name", rateLimiter.getName()).increment();
+        return Mono.error(new RestServiceException(ErrorCode.RATE_LIMIT_EXCEEDED, rateLimiter.getName(),
+            String.valueOf(rateLimiter.getPermitsPerSecond())));
+    }
+
+    private Duration getMaxWait(final RateLimitDto rateLimit) {
+        return rateLimit.getMaxWaitSeconds() == null ? rateLimiterProperties.getMaxWait()
+            : Duration.ofNanos((long) (rateLimit.getMaxWaitSeconds() * Duration.ofSeconds(1).toNanos()));
+    }
+
+    private TokenBucketRateLimiter getRateLimiter(final String name, final double permitsPerSecond, final Integer burst) {
+        final int permittedBurst = burst == null ? (int) Math.ceil(permitsPerSecond) : burst;
+        final TokenBucketRateLimiter current = rateLimiters.getIfPresent(name);
+        if (current != null && current.getPermitsPerSecond() == permitsPerSecond && current.getBurst() == permittedBurst) {
+            return current;
+        }
+        if (current == null) {
+            registerMetrics(name);
+        }
+        return rateLimiters.asMap().compute(name, (key, rateLimiter) ->
+            rateLimiter != null && rateLimiter.getPermitsPerSecond() == permitsPerSecond && rateLimiter.getBurst() == permittedBurst
+                ? rateLimiter : new TokenBucketRateLimiter(name, permitsPerSecond, permittedBurst, System::nanoTime));
+    }
+
+    /**
+     * The meters are kept when a rate limiter is replaced as its rate is reconfigured.
+     */
+    private void onRateLimiterRemoval(final String name, final TokenBucketRateLimiter rateLimiter, final RemovalCause cause) {
+        if (cause != RemovalCause.REPLACED) {
+            Search.in(meterRegistry).name(meterName -> meterName.startsWith("run_rate_limit_")).tag("name", name).meters()
+                .forEach(meterRegistry::remove);
+        }
+    }
+
+    private void registerMetrics(final String name) {
+        Gauge.builder("run_rate_limit_available_permits", rateLimiters, limiters -> {
+            final TokenBucketRateLimiter rateLimiter = limiters.policy().getIfPresentQuietly(name);
+            return rateLimiter == null ? Double.NaN : rateLimiter.getAvailablePermits();
+        })
+            .description("Number of available rate limit permits, negative if permits are reserved by waiting runs")
+            .tag("name", name)
+            .register(meterRegistry);
+        Gauge.builder("run_rate_limit_permits_per_second", rateLimiters, limiters -> {
+            final TokenBucketRateLimiter rateLimiter = limiters.policy().getIfPresentQuietly(name);
+            return rateLimiter == null ? Double.NaN : rateLimiter.getPermitsPerSecond();
+        })
+            .description("Configured rate limit in permits per second")
+            .tag("name", name)
+            .register(meterRegistry);
+        Counter.builder("run_rate_limit_rejected")
+            .description("Number of runs rejected as no rate limit permit was available within the max wait")
+            .tag("name", name)
+            .register(meterRegistry);
+        Timer.builder("run_rate_limit_wait")
+            .description("Time runs waited for a rate limit permit")
+            .tag("name", name)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.service.run.limiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter of a connected system or resource.
+ * <p>
+ * The bucket holds up to the burst number of permits and is refilled at the permitted rate. A permit is reserved
+ * for each request. When no permit is available, the permit is reserved ahead of time and the time to wait for it is
+ * returned, unless that exceeds the max wait, in which case the request is rejected without reserving a permit.
+ * </p>
+ */
+public class TokenBucketRateLimiter {
+
+    private final String name;
+    private final double permitsPerSecond;
+    private final int burst;
+    private final LongSupplier nanoClock;
+
+    private double permits;
+    private long refilledAtNanos;
+
+    /**
+     * TokenBucketRateLimiter.
+     * @param name rate limiter name
+     * @param permitsPerSecond number of permits per second
+     * @param burst maximum number of permits available at once
+     * @param nanoClock clock returning the current time in nanoseconds
+     */
+    public TokenBucketRateLimiter(final String name, final double permitsPerSecond, final int burst, final LongSupplier nanoClock) {
+        this.name = name;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(burst, 1);
+        this.nanoClock = nanoClock;
+        this.permits = this.burst;
+        this.refilledAtNanos = nanoClock.getAsLong();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Get the number of available permits, which is negative if permits have been reserved ahead of time.
+     * @return available permits
+     */
+    public synchronized double getAvailablePermits() {
+        refill();
+        return permits;
+    }
+
+    /**
+     * Reserve a permit.
+     * @param maxWaitNanos maximum time to wait for the permit in nanoseconds
+     * @return time to wait for the permit in nanoseconds, or -1 if the permit is not available within the max wait
+     */
+    public synchronized long reserve(final long maxWaitNanos) {
+        refill();
+        final long waitNanos = permits >= 1 ? 0 : (long) Math.ceil((1 - permits) / permitsPerSecond * TimeUnit.SECONDS.toNanos(1));
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        permits--;
+        return waitNanos;
+    }
+
+    /**
+     * Return a reserved permit which was not used.
+     */
+    public synchronized void release() {
+        permits = Math.min(burst, permits + 1);
+    }
+
+    private void refill() {
+        final long now = nanoClock.getAsLong();
+        permits = Math.min(burst, permits + (now - refilledAtNanos) * permitsPerSecond / TimeUnit.SECONDS.toNanos(1));
+        refilledAtNanos = now;
+    }
+}
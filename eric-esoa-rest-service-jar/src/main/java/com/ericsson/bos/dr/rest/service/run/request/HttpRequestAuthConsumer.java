@@ -15,7 +15,7 @@
  ******************************************************************************/
 package com.ericsson.bos.dr.rest.service.run.request;
 
-import com.ericsson.bos.dr.rest.service.connectivity.ConnectionProperties;
+import com.ericsson.bos.dr.rest.service.connectivity.ConnectionProfile;
 import com.ericsson.bos.dr.rest.service.http.HttpRequest;
 import com.ericsson.bos.dr.rest.service.run.RunExecutionContext;
 import com.ericsson.bos.dr.rest.service.substitution.SubstitutionEngine;
@@ -33,13 +33,13 @@ public class HttpRequestAuthConsumer implements HttpRequestConsumer {
 
     @Override
     public void apply(HttpRequest httpRequest, RunExecutionContext runExecutionContext) {
-        final ConnectionProperties connectionProperties = runExecutionContext.getSubsystem().getConnection();
-        if (Boolean.TRUE.equals(runExecutionContext.getSubsystem().isSslVerify())) {
+        final ConnectionProfile connectionProfile = runExecutionContext.getSubsystem().getConnectionProfile();
+        if (connectionProfile.sslVerify()) {
             httpRequest.setSslVerify(true);
-            httpRequest.setTrustStoreSecretName(connectionProperties.getSslTrustStoreSecretName());
-            httpRequest.setTrustStoreSecretPassword(connectionProperties.getSslTrustStoreSecretPassword());
-            httpRequest.setKeyStoreSecretName(connectionProperties.getSslKeyStoreSecretName());
-            httpRequest.setKeyStoreSecretPassword(connectionProperties.getSslKeyStoreSecretPassword());
+            httpRequest.setTrustStoreSecretName(connectionProfile.sslTrustStoreSecretName());
+            httpRequest.setTrustStoreSecretPassword(connectionProfile.sslTrustStoreSecretPassword());
+            httpRequest.setKeyStoreSecretName(connectionProfile.sslKeyStoreSecretName());
+            httpRequest.setKeyStoreSecretPassword(connectionProfile.sslKeyStoreSecretPassword());
         }
     }
 }
\ No newline at end of file
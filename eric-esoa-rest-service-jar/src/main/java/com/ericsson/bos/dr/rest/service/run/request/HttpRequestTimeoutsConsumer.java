@@ -15,7 +15,7 @@
  ******************************************************************************/
 package com.ericsson.bos.dr.rest.service.run.request;
 
-import com.ericsson.bos.dr.rest.service.connectivity.ConnectionProperties;
+import com.ericsson.bos.dr.rest.service.connectivity.ConnectionProfile;
 import com.ericsson.bos.dr.rest.service.http.HttpRequest;
 import com.ericsson.bos.dr.rest.service.run.RunExecutionContext;
 import org.springframework.stereotype.Component;
@@ -29,10 +29,9 @@ public class HttpRequestTimeoutsConsumer implements HttpRequestConsumer {
 
     @Override
     public void apply(HttpRequest httpRequest, RunExecutionContext runExecutionContext) {
-        final ConnectionProperties connectionProperties = runExecutionContext.getSubsystem().getConnection();
-        connectionProperties.getClientConnectionTimeoutSeconds();
-        httpRequest.setConnectTimeoutSeconds(connectionProperties.getClientConnectionTimeoutSeconds());
-        httpRequest.setReadTimeoutSeconds(connectionProperties.getReadTimeoutSeconds());
-        httpRequest.setWriteTimeoutSeconds(connectionProperties.getWriteTimeoutSeconds());
+        final ConnectionProfile connectionProfile = runExecutionContext.getSubsystem().getConnectionProfile();
+        httpRequest.setConnectTimeoutSeconds(connectionProfile.connectTimeoutSeconds());
+        httpRequest.setReadTimeoutSeconds(connectionProfile.readTimeoutSeconds());
+        httpRequest.setWriteTimeoutSeconds(connectionProfile.writeTimeoutSeconds());
     }
 }
\ No newline at end of file
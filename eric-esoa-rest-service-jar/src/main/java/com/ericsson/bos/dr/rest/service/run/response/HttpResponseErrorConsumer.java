@@ -19,6 +19,8 @@ import java.util.Map;
 import java.util.Optional;
 
 import com.ericsson.bos.dr.rest.model.resources.ResourceMethodDefinition;
+import com.ericsson.bos.dr.rest.service.condition.ConditionContext;
+import com.ericsson.bos.dr.rest.service.condition.ResponseCondition;
 import com.ericsson.bos.dr.rest.service.run.RunExecutionContext;
 import com.ericsson.bos.dr.rest.service.substitution.SubstitutionEngine;
 import com.ericsson.bos.dr.rest.web.v1.api.model.ErrorHandlerDto;
@@ -32,6 +34,8 @@ import org.springframework.stereotype.Component;
  * Check if the http response matches a condition in a global or local error handler defined
  * in the resource configuration.
  * If matched, then updates the <code>RunExecutionContext</code> with the matched error handler.
+ * A structured condition is evaluated before the jinja error condition, and the substitution context for the
+ * jinja error condition is only created if required.
  */
 @Component
 @Order(2)
@@ -44,19 +48,31 @@ public class HttpResponseErrorConsumer implements HttpResponseConsumer {
 
     @Override
     public void apply(HttpRunResponse httpResponse, RunExecutionContext runExecutionContext) {
-        final Map<String, Object> substitutionCtx = new HttpResponseSubstitutionContext(httpResponse, runExecutionContext).get();
-        getMatchedErrorHandler(runExecutionContext.getResourceMethod(), substitutionCtx)
+        getMatchedErrorHandler(httpResponse, runExecutionContext)
                 .ifPresent(eh -> runExecutionContext.setMatchedErrorOutbound(eh.getOutbound()));
     }
 
-    private Optional<ErrorHandlerDto> getMatchedErrorHandler(final ResourceMethodDefinition resourceMethod,
-                                                             final Map<String, Object> substitutionContext) {
-        final Optional<ErrorHandlerDto> errorHandlerDto = resourceMethod.getErrorHandlers().stream()
-                .filter(eh -> Boolean.parseBoolean(substitutionEngine.render(eh.getErrorCondition(), substitutionContext)))
-                .findFirst();
-        if (errorHandlerDto.isPresent()) {
-            LOGGER.debug("Found matching error handler: {}", errorHandlerDto.get());
+    private Optional<ErrorHandlerDto> getMatchedErrorHandler(final HttpRunResponse httpResponse,
+                                                             final RunExecutionContext runExecutionContext) {
+        final ResourceMethodDefinition resourceMethod = runExecutionContext.getResourceMethod();
+        final var conditionContext = new ConditionContext(httpResponse.getOriginalStatusCode(), httpResponse.getOriginalHttpHeaders(),
+                httpResponse::getOriginalBody, false);
+        Map<String, Object> substitutionContext = null;
+        for (final ErrorHandlerDto errorHandlerDto : resourceMethod.getErrorHandlers()) {
+            if (errorHandlerDto.getCondition() != null && !ResponseCondition.of(errorHandlerDto.getCondition()).test(conditionContext)) {
+                continue;
+            }
+            if (errorHandlerDto.getErrorCondition() != null) {
+                if (substitutionContext == null) {
+                    substitutionContext = new HttpResponseSubstitutionContext(httpResponse, runExecutionContext).get();
+                }
+                if (!Boolean.parseBoolean(substitutionEngine.render(errorHandlerDto.getErrorCondition(), substitutionContext))) {
+                    continue;
+                }
+            }
+            LOGGER.debug("Found matching error handler: {}", errorHandlerDto);
+            return Optional.of(errorHandlerDto);
         }
-        return errorHandlerDto;
+        return Optional.empty();
     }
-}
\ No newline at end of file
+}
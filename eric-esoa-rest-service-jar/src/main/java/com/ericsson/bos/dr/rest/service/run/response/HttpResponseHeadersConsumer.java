@@ -15,7 +15,6 @@
  ******************************************************************************/
 package com.ericsson.bos.dr.rest.service.run.response;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -48,14 +47,10 @@ public class HttpResponseHeadersConsumer implements HttpResponseConsumer {
     public void apply(final HttpRunResponse httpResponse, final RunExecutionContext runExecutionContext) {
         final Map<String, Object> substitutionCtx = new HttpResponseSubstitutionContext(httpResponse, runExecutionContext).get();
         final LinkedCaseInsensitiveMap<List<String>> configHeaders = new LinkedCaseInsensitiveMap<>();
-        Optional.ofNullable(runExecutionContext.getResourceMethod().getResourceConfiguration().getGlobalResponseHeaders()).ifPresent(h -> {
-            h.values().removeAll(Collections.singleton(null));
-            configHeaders.putAll(h);
-        });
-        Optional.ofNullable(runExecutionContext.getMatchedErrorOutboundElseMethodOutbound()).map(OutboundPropertyDto::getHeaders).ifPresent(h -> {
-            h.values().removeAll(Collections.singleton(null));
-            configHeaders.putAll(h);
-        });
+        Optional.ofNullable(runExecutionContext.getResourceMethod().getResourceConfiguration().getGlobalResponseHeaders())
+                .ifPresent(h -> putNonNullHeaders(h, configHeaders));
+        Optional.ofNullable(runExecutionContext.getMatchedErrorOutboundElseMethodOutbound()).map(OutboundPropertyDto::getHeaders)
+                .ifPresent(h -> putNonNullHeaders(h, configHeaders));
 
         if (!configHeaders.isEmpty()) {
             final var resultHeaders = new HttpHeaders();
@@ -65,6 +60,15 @@ public class HttpResponseHeadersConsumer implements HttpResponseConsumer {
         }
     }
 
+    private static void putNonNullHeaders(final Map<String, List<String>> headers, final Map<String, List<String>> target) {
+        // the configured headers are shared between runs, so are copied rather than modified in place
+        headers.forEach((name, values) -> {
+            if (values != null) {
+                target.put(name, values);
+            }
+        });
+    }
+
     private  LinkedCaseInsensitiveMap<List<String>> substituteResponseHeaders(final LinkedCaseInsensitiveMap<List<String>> headers,
                                                                               final Map<String, Object> substitutionCtx) {
         final LinkedCaseInsensitiveMap<List<String>> resultHeaderMap = new LinkedCaseInsensitiveMap<>();
@@ -21,7 +21,6 @@ import java.util.Optional;
 import java.util.function.Supplier;
 
 import com.ericsson.bos.dr.rest.service.run.RunExecutionContext;
-import com.ericsson.bos.dr.rest.service.utils.JSON;
 
 /**
  * Available substitution context for processing of the http response.
@@ -62,7 +61,7 @@ public class HttpResponseSubstitutionContext implements Supplier<Map<String, Obj
 
     private Map<String, Object> getResponseProperties() {
         final Map<String, Object> responseProperties = new HashMap<>();
-        responseProperties.put(BODY, getBodyForSubstitution(httpRunResponse.getOriginalBody()));
+        responseProperties.put(BODY, httpRunResponse.getOriginalBodyForSubstitution());
         responseProperties.put(CODE, httpRunResponse.getOriginalStatusCode());
         responseProperties.put(HEADERS, httpRunResponse.getOriginalHttpHeaders());
         return responseProperties;
@@ -76,12 +75,4 @@ public class HttpResponseSubstitutionContext implements Supplier<Map<String, Obj
         requestProperties.put(HEADERS, httpRunResponse.getRequest().getHeaders());
         return requestProperties;
     }
-
-    private Object getBodyForSubstitution(final Object body) {
-        if (body instanceof String && JSON.isJsonStr(body.toString())) {
-            return JSON.readObjectForSubstitution(body.toString());
-        } else {
-            return body;
-        }
-    }
 }
\ No newline at end of file
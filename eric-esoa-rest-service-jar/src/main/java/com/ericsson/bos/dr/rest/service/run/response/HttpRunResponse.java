@@ -18,11 +18,13 @@ package com.ericsson.bos.dr.rest.service.run.response;
 import java.util.Optional;
 
 import com.ericsson.bos.dr.rest.service.http.HttpRequest;
+import com.ericsson.bos.dr.rest.service.utils.JSON;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 
 /**
  * Http Response for run request.
+ * The original body is decoded and parsed for substitution lazily, once only, and shared by all response consumers.
  */
 public class HttpRunResponse {
 
@@ -32,6 +34,9 @@ public class HttpRunResponse {
     private Integer statusCode;
     private HttpHeaders httpHeaders;
     private String transformedBody;
+    private String originalBody;
+    private Object originalBodyForSubstitution;
+    private boolean originalBodyParsed;
 
     /**
      * Http Response.
@@ -69,7 +74,16 @@ public class HttpRunResponse {
      * @return <code>HttpHeaders</code>
      */
     public HttpHeaders getOriginalHttpHeaders() {
-        final HttpHeaders reducedHeaders = HttpHeaders.writableHttpHeaders(originalResponse.getHeaders());
+        return reduceHeaders(originalResponse.getHeaders());
+    }
+
+    /**
+     * Remove the content length and transfer encoding headers, which are set according to the returned body.
+     * @param httpHeaders http response headers
+     * @return <code>HttpHeaders</code>
+     */
+    public static HttpHeaders reduceHeaders(final HttpHeaders httpHeaders) {
+        final HttpHeaders reducedHeaders = HttpHeaders.writableHttpHeaders(httpHeaders);
         reducedHeaders.remove(HttpHeaders.CONTENT_LENGTH);
         reducedHeaders.remove(HttpHeaders.TRANSFER_ENCODING);
         return reducedHeaders;
@@ -79,8 +93,28 @@ public class HttpRunResponse {
         this.httpHeaders = httpHeaders;
     }
 
+    /**
+     * Get the original http response body as a String.
+     * @return original body, or empty String if there is no body
+     */
     public String getOriginalBody() {
-        return  Optional.ofNullable(originalResponse.getBody()).map(String::new).orElse("");
+        if (originalBody == null) {
+            originalBody = Optional.ofNullable(originalResponse.getBody()).map(String::new).orElse("");
+        }
+        return originalBody;
+    }
+
+    /**
+     * Get the original http response body for use in the substitution context. If the body is valid json, then it is
+     * read to an appropriate object, otherwise the body String is returned.
+     * @return original body for substitution
+     */
+    public Object getOriginalBodyForSubstitution() {
+        if (!originalBodyParsed) {
+            originalBodyForSubstitution = JSON.readObjectForSubstitutionIfJson(getOriginalBody());
+            originalBodyParsed = true;
+        }
+        return originalBodyForSubstitution;
     }
 
     public void setTransformedBody(String body) {
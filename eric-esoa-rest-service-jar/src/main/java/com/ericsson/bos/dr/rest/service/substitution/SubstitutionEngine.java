@@ -20,31 +20,61 @@ import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.ericsson.bos.dr.rest.service.exceptions.ErrorCode;
 import com.ericsson.bos.dr.rest.service.exceptions.RestServiceException;
+import com.ericsson.bos.dr.rest.service.utils.Groovy;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.hubspot.jinjava.Jinjava;
 import com.hubspot.jinjava.JinjavaConfig;
+import com.hubspot.jinjava.interpret.Context;
+import com.hubspot.jinjava.interpret.InterpreterFactory;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
 import com.hubspot.jinjava.interpret.RenderResult;
+import com.hubspot.jinjava.tree.Node;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 import jakarta.annotation.PostConstruct;
 
 /**
  * Substitution Engine.
+ * Parsed templates are cached by template content, so that each distinct template is only parsed once.
+ * Cache statistics are exposed as the <code>jinja_template_cache</code> metrics, and those of the scripts of the groovy
+ * function as the <code>groovy_script_cache</code> metrics.
  */
 @Component
-public class SubstitutionEngine {
+public class SubstitutionEngine implements MeterBinder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SubstitutionEngine.class);
 
-    private final Jinjava jinjava = new Jinjava();
+    private final JinjavaConfig config = JinjavaConfig.newBuilder()
+            .withFailOnUnknownTokens(true)
+            .withInterperterFactory(new CachingInterpreterFactory())
+            .build();
+
+    // the interpreter is created by the interpreter factory of the global config, not that of the render config
+    private final Jinjava jinjava = new Jinjava(config);
+
+    @Value("${service.substitution.template-cache.maximumSize:1000}")
+    private long templateCacheMaximumSize;
+
+    private Cache<String, Node> templateCache;
 
     /**
      *Register Jinja functions.
      */
     @PostConstruct
     public void registerJinjaFunction() {
+        templateCache = Caffeine.newBuilder()
+                .maximumSize(templateCacheMaximumSize)
+                .recordStats()
+                .build();
         Stream.of(new ReplaceAtSymbolFunction(),
                 new JqFunction(),
                 new CurrentTimeStampFunction(),
@@ -65,7 +95,6 @@ public class SubstitutionEngine {
             LOGGER.debug("Jinja Template is:{}, substitutionContext is:{}", template, substitutionContext);
         }
 
-        final JinjavaConfig config = JinjavaConfig.newBuilder().withFailOnUnknownTokens(true).build();
         final RenderResult result = jinjava.renderForResult(template, substitutionContext, config);
 
         if (result.hasErrors()) {
@@ -74,4 +103,52 @@ public class SubstitutionEngine {
 
         return result.getOutput();
     }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, templateCache, "jinja_template_cache");
+        Groovy.bindTo(registry);
+    }
+
+    /**
+     * Interpreter which gets the parsed template from the template cache. A template is only cached
+     * if it was parsed without errors, so invalid templates are re-parsed and report their errors on each render.
+     */
+    private final class CachingInterpreter extends JinjavaInterpreter {
+
+        private CachingInterpreter(final Jinjava application, final Context context, final JinjavaConfig renderConfig) {
+            super(application, context, renderConfig);
+        }
+
+        private CachingInterpreter(final JinjavaInterpreter orig) {
+            super(orig);
+        }
+
+        @Override
+        public Node parse(final String template) {
+            final Node cachedNode = templateCache.getIfPresent(template);
+            if (cachedNode != null) {
+                return cachedNode;
+            }
+            final int errorCount = getErrors().size();
+            final Node node = super.parse(template);
+            if (getErrors().size() == errorCount) {
+                templateCache.put(template, node);
+            }
+            return node;
+        }
+    }
+
+    private final class CachingInterpreterFactory implements InterpreterFactory {
+
+        @Override
+        public JinjavaInterpreter newInstance(final JinjavaInterpreter orig) {
+            return new CachingInterpreter(orig);
+        }
+
+        @Override
+        public JinjavaInterpreter newInstance(final Jinjava application, final Context context, final JinjavaConfig renderConfig) {
+            return new CachingInterpreter(application, context, renderConfig);
+        }
+    }
 }
\ No newline at end of file
@@ -15,19 +15,43 @@
  ******************************************************************************/
 package com.ericsson.bos.dr.rest.service.utils;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
 import groovy.lang.Binding;
-import groovy.lang.GroovyShell;
+import groovy.lang.GroovyClassLoader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 /**
  * Groovy operations.
+ * Expressions are compiled once and the compiled script class is cached by expression text.
+ * Each class is loaded in its own class loader, which is closed when the class is evicted from the cache,
+ * so that the class can be unloaded.
+ * Cache statistics are exposed as the <code>groovy_script_cache</code> metrics.
  */
 public abstract class Groovy {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(Groovy.class);
+
     private static final String PROPERTY_PREFIX = "arg";
+    private static final long MAX_CACHED_SCRIPTS = 500;
+    private static final Cache<String, CompiledScript> SCRIPT_CACHE = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_SCRIPTS)
+            .recordStats()
+            .executor(Runnable::run)
+            .removalListener(Groovy::onRemoval)
+            .build();
 
     private Groovy() {
     }
@@ -57,7 +81,32 @@ public abstract class Groovy {
     public static Object evalExpression(final String expression, final Map<String, Object> args) {
         final var binding = new Binding();
         args.entrySet().forEach(e -> binding.setVariable(e.getKey(), e.getValue()));
-        final var groovySh = new GroovyShell(binding);
-        return groovySh.evaluate(expression);
+        final Class<?> scriptClass = SCRIPT_CACHE.get(expression, Groovy::compile).scriptClass();
+        return InvokerHelper.createScript(scriptClass, binding).run();
+    }
+
+    /**
+     * Bind the script cache metrics to the meter registry.
+     * @param registry meter registry
+     */
+    public static void bindTo(final MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, SCRIPT_CACHE, "groovy_script_cache");
+    }
+
+    private static CompiledScript compile(final String expression) {
+        final var classLoader = new GroovyClassLoader(Groovy.class.getClassLoader());
+        return new CompiledScript(classLoader.parseClass(expression), classLoader);
     }
+
+    private static void onRemoval(final String expression, final CompiledScript compiledScript, final RemovalCause cause) {
+        if (compiledScript != null) {
+            try {
+                compiledScript.classLoader().close();
+            } catch (final IOException e) {
+                LOGGER.warn("Failed to close class loader of evicted script: {}", expression, e);
+            }
+        }
+    }
+
+    private record CompiledScript(Class<?> scriptClass, GroovyClassLoader classLoader) {}
 }
\ No newline at end of file
@@ -15,14 +15,19 @@
  ******************************************************************************/
 package com.ericsson.bos.dr.rest.service.utils;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import com.ericsson.bos.dr.rest.service.exceptions.RestServiceException;
 import com.ericsson.bos.dr.rest.service.exceptions.ErrorCode;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import net.thisptr.jackson.jq.JsonQuery;
 import net.thisptr.jackson.jq.Scope;
@@ -30,11 +35,17 @@ import net.thisptr.jackson.jq.exception.JsonQueryException;
 
 /**
  * JQ query operations.
+ * Compiled queries are cached by expression. Simple field path expressions, such as <code>.a.b</code>,
+ * are evaluated directly against the json node without the jq interpreter.
  */
 public abstract class JQ {
 
     private static final Scope SCOPE;
     private static final ObjectMapper OM_INSTANCE = new ObjectMapper();
+    private static final Pattern FIELD_PATH = Pattern.compile("^(\\.[a-zA-Z_][a-zA-Z0-9_]*)+$");
+    private static final Cache<String, JsonQuery> QUERY_CACHE = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .build();
 
     static {
         SCOPE = Scope.newEmptyScope();
@@ -65,13 +76,56 @@ public abstract class JQ {
      */
     public static JQResult query(final String jqExpression, final JsonNode jsonNode) {
         try {
-            final var jsonQuery = JsonQuery.compile(jqExpression);
+            final var jsonQuery = compile(jqExpression);
             return new JQResult(jsonQuery.apply(SCOPE, jsonNode));
         } catch (JsonQueryException e) {
             throw new RestServiceException(e, ErrorCode.JQ_ERROR, jqExpression, e.getMessage());
         }
     }
 
+    private static JsonQuery compile(final String jqExpression) throws JsonQueryException {
+        JsonQuery jsonQuery = QUERY_CACHE.getIfPresent(jqExpression);
+        if (jsonQuery == null) {
+            jsonQuery = JsonQuery.compile(jqExpression);
+            if (FIELD_PATH.matcher(jqExpression).matches()) {
+                jsonQuery = new FieldPathQuery(jqExpression.substring(1).split("\\."), jsonQuery);
+            }
+            QUERY_CACHE.put(jqExpression, jsonQuery);
+        }
+        return jsonQuery;
+    }
+
+    /**
+     * Evaluates a field path expression by walking the object fields. Missing fields and null values
+     * give a null result, as in jq. Indexing any other type of node is delegated to the compiled query,
+     * so that the error is the same as that reported by jq.
+     */
+    private static final class FieldPathQuery extends JsonQuery {
+
+        private final String[] fields;
+        private final JsonQuery compiledQuery;
+
+        private FieldPathQuery(final String[] fields, final JsonQuery compiledQuery) {
+            this.fields = fields;
+            this.compiledQuery = compiledQuery;
+        }
+
+        @Override
+        public List<JsonNode> apply(final Scope scope, final JsonNode in) throws JsonQueryException {
+            JsonNode node = in;
+            for (final String field : fields) {
+                if (node == null || node.isNull()) {
+                    node = NullNode.getInstance();
+                } else if (node.isObject()) {
+                    node = node.get(field);
+                } else {
+                    return compiledQuery.apply(scope, in);
+                }
+            }
+            return Collections.singletonList(node == null ? NullNode.getInstance() : node);
+        }
+    }
+
     /**
      * JQ Query result.
      */
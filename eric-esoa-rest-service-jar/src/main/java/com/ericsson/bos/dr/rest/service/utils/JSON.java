@@ -17,7 +17,6 @@ package com.ericsson.bos.dr.rest.service.utils;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Map;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -73,20 +72,27 @@ public abstract class JSON {
      */
     public static Object readObjectForSubstitution(String json) {
         try {
-            final var jsonNode = MAPPER.readTree(json);
-            if (jsonNode.isArray()) {
-                return RAW_STRING_MAPPER.readValue(json,
-                        RAW_STRING_MAPPER.getTypeFactory().constructCollectionType(List.class, Object.class));
-            } else if (jsonNode.isObject()) {
-                return RAW_STRING_MAPPER.readValue(json, Map.class);
-            } else {
-                return RAW_STRING_MAPPER.readValue(json, Object.class);
-            }
+            return RAW_STRING_MAPPER.readValue(json, Object.class);
         } catch (JsonProcessingException e) {
             throw new IllegalStateException(e);
         }
     }
 
+    /**
+     * Read string to an appropriate object for use in jinja substitution context,
+     * as per {@link #readObjectForSubstitution(String)}, if it is valid json.
+     * Otherwise the string is returned unchanged. The string is parsed once only.
+     * @param value string value
+     * @return Object, or the original string if not valid json
+     */
+    public static Object readObjectForSubstitutionIfJson(String value) {
+        try {
+            return RAW_STRING_MAPPER.readValue(value, Object.class);
+        } catch (JsonProcessingException e) {
+            return value;
+        }
+    }
+
     /**
      * Read json string to a target class type.
      * @param value json string
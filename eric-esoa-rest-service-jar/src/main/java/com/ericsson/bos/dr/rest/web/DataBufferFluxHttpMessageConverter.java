@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.web;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Writes a response body streamed as a <code>Flux</code> of <code>DataBuffer</code>, as returned by the run operation
+ * when the original response is passed through. The buffers are consumed on the servlet thread, so the blocking writes
+ * to the servlet output stream never run on the event loop of the http client. Each buffer is written and released before
+ * the next buffer is requested, so the body is never held in memory. If a write fails, for example when the client
+ * aborts, the upstream is cancelled and any buffer already received is released.
+ * The run operation declares the response body as <code>Object</code>, so the body is not recognized as a reactive type by
+ * Spring MVC and is instead written by this converter.
+ */
+@Component
+public class DataBufferFluxHttpMessageConverter extends AbstractHttpMessageConverter<Flux<DataBuffer>> {
+
+    /**
+     * DataBufferFluxHttpMessageConverter supporting all media types.
+     */
+    public DataBufferFluxHttpMessageConverter() {
+        super(MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(@NonNull final Class<?> clazz) {
+        return Flux.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected MediaType getDefaultContentType(@NonNull final Flux<DataBuffer> dataBuffers) {
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    @Override
+    @NonNull
+    protected Flux<DataBuffer> readInternal(@NonNull final Class<? extends Flux<DataBuffer>> clazz,
+                                            @NonNull final HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading a DataBuffer stream is not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(@NonNull final Flux<DataBuffer> dataBuffers, @NonNull final HttpOutputMessage outputMessage)
+            throws IOException {
+        final OutputStream outputStream = outputMessage.getBody();
+        // buffers received from the http client but not yet written, which are released if the write fails, as the blocking
+        // stream does not release the buffers it has queued when it is closed. A buffer received after the stream is closed
+        // is released as it is received.
+        final Set<DataBuffer> received = ConcurrentHashMap.newKeySet();
+        final AtomicBoolean closed = new AtomicBoolean();
+        try (Stream<DataBuffer> stream = dataBuffers
+                .doOnNext(dataBuffer -> {
+                    received.add(dataBuffer);
+                    if (closed.get()) {
+                        release(received);
+                    }
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .toStream(1)) {
+            final Iterator<DataBuffer> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                final DataBuffer dataBuffer = iterator.next();
+                received.remove(dataBuffer);
+                write(dataBuffer, outputStream);
+            }
+        } finally {
+            closed.set(true);
+            release(received);
+        }
+    }
+
+    private static void release(final Set<DataBuffer> dataBuffers) {
+        dataBuffers.forEach(dataBuffer -> {
+            if (dataBuffers.remove(dataBuffer)) {
+                DataBufferUtils.release(dataBuffer);
+            }
+        });
+    }
+
+    private static void write(final DataBuffer dataBuffer, final OutputStream outputStream) throws IOException {
+        try (InputStream inputStream = dataBuffer.asInputStream()) {
+            inputStream.transferTo(outputStream);
+        } finally {
+            DataBufferUtils.release(dataBuffer);
+        }
+    }
+}
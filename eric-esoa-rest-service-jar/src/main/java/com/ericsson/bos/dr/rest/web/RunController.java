@@ -21,8 +21,12 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.ericsson.bos.dr.rest.service.RunService;
 import com.ericsson.bos.dr.rest.web.v1.api.RunApi;
+import com.ericsson.bos.dr.rest.web.v1.api.model.BatchRunRequestDto;
+import com.ericsson.bos.dr.rest.web.v1.api.model.BatchRunResponseDto;
 import com.ericsson.bos.dr.rest.web.v1.api.model.RunRequestDto;
 
+import reactor.core.publisher.Mono;
+
 /**
  * Run Controller.
  */
@@ -33,8 +37,13 @@ public class RunController implements RunApi {
     private RunService runService;
 
     @Override
-    public ResponseEntity run(final String subsystemName, final String resourceConfigurationName, final String resource,
+    public Mono<ResponseEntity<Object>> run(final String subsystemName, final String resourceConfigurationName, final String resource,
         final RunRequestDto runRequestDto) {
         return runService.run(subsystemName, resourceConfigurationName, resource, runRequestDto);
     }
+
+    @Override
+    public Mono<ResponseEntity<BatchRunResponseDto>> runBatch(final BatchRunRequestDto batchRunRequestDto) {
+        return runService.runBatch(batchRunRequestDto).map(ResponseEntity::ok);
+    }
 }
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.web;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ericsson.bos.dr.rest.service.SubsystemEventService;
+import com.ericsson.bos.dr.rest.web.v1.api.SubsystemsApi;
+import com.ericsson.bos.dr.rest.web.v1.api.model.SubsystemEventDto;
+
+/**
+ * Subsystem Controller.
+ */
+@RestController
+public class SubsystemController implements SubsystemsApi {
+
+    @Autowired
+    private SubsystemEventService subsystemEventService;
+
+    @Override
+    public ResponseEntity<Void> notifySubsystemEvent(final SubsystemEventDto subsystemEventDto) {
+        subsystemEventService.processSubsystemEvent(subsystemEventDto);
+        return ResponseEntity.noContent().build();
+    }
+}
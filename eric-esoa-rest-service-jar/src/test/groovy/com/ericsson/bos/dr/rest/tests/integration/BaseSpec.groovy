@@ -17,6 +17,10 @@ package com.ericsson.bos.dr.rest.tests.integration
 
 import com.ericsson.bos.dr.rest.service.http.ExternalSslCtx
 import com.ericsson.bos.dr.rest.service.http.HttpExecutor
+import com.ericsson.bos.dr.rest.service.http.circuitbreaker.CircuitBreakerRegistry
+import com.ericsson.bos.dr.rest.service.http.retry.RetryBudgetRegistry
+import com.ericsson.bos.dr.rest.service.run.limiter.ConcurrencyLimiterRegistry
+import com.ericsson.bos.dr.rest.service.run.limiter.RateLimiterRegistry
 import org.spockframework.spring.SpringSpy
 
 import static com.github.tomakehurst.wiremock.client.WireMock.configureFor
@@ -55,6 +59,18 @@ abstract class BaseSpec extends Specification {
     @Autowired
     WebClientConfiguration.WebClientRequestsRecorder webClientRequestsRecorder
 
+    @Autowired
+    CircuitBreakerRegistry circuitBreakerRegistry
+
+    @Autowired
+    ConcurrencyLimiterRegistry concurrencyLimiterRegistry
+
+    @Autowired
+    RateLimiterRegistry rateLimiterRegistry
+
+    @Autowired
+    RetryBudgetRegistry retryBudgetRegistry
+
     @SpringSpy
     ExternalSslCtx externalSslCtx
 
@@ -76,7 +92,13 @@ abstract class BaseSpec extends Specification {
     def cleanup() {
         wireMock.resetAll()
         cacheManager.getCache("subsystem_cache").clear()
+        cacheManager.getCache("auth_subsystem_cache").clear()
         cacheManager.getCache("auth_token_cache").clear()
+        cacheManager.getCache("resource_configuration_cache").clear()
         webClientRequestsRecorder.clear()
+        circuitBreakerRegistry.@circuitBreakers.invalidateAll()
+        concurrencyLimiterRegistry.@concurrencyLimiters.invalidateAll()
+        rateLimiterRegistry.@rateLimiters.invalidateAll()
+        retryBudgetRegistry.@retryBudgets.invalidateAll()
     }
 }
\ No newline at end of file
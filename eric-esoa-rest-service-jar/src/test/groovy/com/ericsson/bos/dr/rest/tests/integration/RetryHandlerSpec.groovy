@@ -126,6 +126,40 @@ class RetryHandlerSpec extends BaseSpec {
         webClientRequestsRecorder.getRequestCount("http://localhost:55555/resource1") == 2
     }
 
+    def "Resource requests are retried according to retry handler structured condition"() {
+
+        setup: "Upload resource configuration with retry handler conditions"
+        resourceConfigurationTestSteps.uploadResourceConfiguration("/run/resource-configuration/condition_handling.yml", "resource1")
+
+        and: "stub subsystem manager request to return connected system"
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=external-system",
+                "/run/responses/subsystem/subSystemResponse_BasicAuth.json")
+
+        and: "stub external system request to get resource"
+        String responseBody = "{\"error\": {\"code\": \"UNAVAILABLE\", \"retryable\": ${retryable}}}"
+        stubFor(get(urlEqualTo("/path/to/resource1"))
+                .willReturn(aResponse()
+                .withStatus(responseCode)
+                .withHeader("Content-Type", "application/json")
+                .withBody(responseBody)))
+
+        when: "execute run"
+        ResultActions result = runServiceTestSteps.executeRunResult("external-system", "EXTERNAL_SYSTEM", "resource1",
+                new RunRequestDto(method: "GET", responseFormat: "original", inputs: [:]))
+
+        then: "original error response is returned"
+        result.andExpect(status().is(responseCode)).andExpect(content().string(responseBody))
+
+        and: "expected number of requests executed, a condition which fails to be evaluated not matching"
+        WireMock.verify(requestCount, getRequestedFor(urlEqualTo("/path/to/resource1")))
+
+        where:
+        responseCode | retryable | requestCount
+        503          | true      | 3
+        503          | false     | 1
+        500          | true      | 1
+    }
+
     void uploadResource() {
         resourceConfigurationTestSteps.uploadResourceConfiguration("/run/resource-configuration/retry_handling.yml", "resource1")
     }
@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.tests.integration
+
+import static com.ericsson.bos.dr.rest.service.exceptions.ErrorCode.CIRCUIT_BREAKER_OPEN
+import static com.ericsson.bos.dr.rest.service.exceptions.ErrorCode.CONCURRENCY_LIMIT_EXCEEDED
+import static com.ericsson.bos.dr.rest.service.exceptions.ErrorCode.RATE_LIMIT_EXCEEDED
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse
+import static com.github.tomakehurst.wiremock.client.WireMock.get
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status
+import com.ericsson.bos.dr.rest.service.http.circuitbreaker.CircuitBreaker
+import com.ericsson.bos.dr.rest.service.http.circuitbreaker.CircuitBreakerProperties
+import com.ericsson.bos.dr.rest.service.run.limiter.AdaptiveConcurrencyLimiter
+import com.ericsson.bos.dr.rest.service.run.limiter.ConcurrencyLimiterProperties
+import com.ericsson.bos.dr.rest.tests.integration.utils.WiremockUtil
+import com.ericsson.bos.dr.rest.web.v1.api.model.RunRequestDto
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.core.io.buffer.DataBuffer
+import org.springframework.core.io.buffer.DefaultDataBufferFactory
+import org.springframework.http.ResponseEntity
+import org.springframework.test.web.servlet.ResultActions
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+
+class RunLimiterSpec extends BaseSpec {
+
+    static final String SUBSYSTEM_NAME = "SO"
+    static final String RESOURCE_CONFIGURATION_NAME = "EXTERNAL_SYSTEM"
+
+    @Autowired
+    ConcurrencyLimiterProperties concurrencyLimiterProperties
+
+    @Autowired
+    CircuitBreakerProperties circuitBreakerProperties
+
+    def setup() {
+        concurrencyLimiterProperties.enabled = true
+        concurrencyLimiterProperties.initialLimit = 1
+        concurrencyLimiterProperties.minLimit = 1
+
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=${SUBSYSTEM_NAME}",
+                "/run/responses/subsystem/subSystemResponse_BasicAuth.json")
+        WiremockUtil.stubForGetorPost("/path-to-multi-method-resource\\?id=1", "get", "application/json; charset=UTF-8", null,
+                200, "application/json", "{\"name\": \"myName1\"}")
+    }
+
+    def cleanup() {
+        concurrencyLimiterProperties.enabled = false
+        concurrencyLimiterProperties.initialLimit = 50
+        concurrencyLimiterProperties.minLimit = 5
+        circuitBreakerProperties.enabled = false
+    }
+
+    def "Run releases the concurrency limiter permission and adapts the limit once the response is returned"() {
+
+        when: "execute run"
+        ResultActions result = executeRun(responseFormat)
+
+        then: "run succeeds"
+        result.andExpect(status().is(200))
+
+        and: "permission is released and the limit is increased for the successful call"
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiterRegistry.@concurrencyLimiters.getIfPresent(SUBSYSTEM_NAME)
+        limiter.inFlight == 0
+        limiter.limit == 2
+
+        where:
+        responseFormat | _
+        "json"         | _
+        "original"     | _
+    }
+
+    def "Run is rejected when the concurrency limit of the subsystem is reached"() {
+
+        setup: "acquire the only permission of the subsystem"
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(SUBSYSTEM_NAME, concurrencyLimiterProperties)
+        concurrencyLimiterRegistry.@concurrencyLimiters.put(SUBSYSTEM_NAME, limiter)
+        limiter.tryAcquire()
+
+        when: "execute run"
+        ResultActions result = executeRun(responseFormat)
+
+        then: "run is rejected without sending the request"
+        result.andExpect(status().is(429))
+                .andExpect(jsonPath("\$.errorCode").value(CONCURRENCY_LIMIT_EXCEEDED.errorCode))
+        wireMock.verify(0, getRequestedFor(urlPathEqualTo("/path-to-multi-method-resource")))
+        limiter.rejected == 1
+
+        where:
+        responseFormat | _
+        "json"         | _
+        "original"     | _
+    }
+
+    def "Run rejected by an open circuit breaker does not decrease the concurrency limit"() {
+
+        setup: "open the circuit breaker of the subsystem"
+        circuitBreakerProperties.enabled = true
+        CircuitBreaker circuitBreaker = new CircuitBreaker(SUBSYSTEM_NAME, circuitBreakerProperties, System::nanoTime)
+        circuitBreakerProperties.minimumNumberOfCalls.times {
+            circuitBreaker.tryAcquirePermission()
+            circuitBreaker.onResult(true, 0)
+        }
+        circuitBreakerRegistry.@circuitBreakers.put(SUBSYSTEM_NAME, circuitBreaker)
+
+        and: "set a limit above the min limit"
+        concurrencyLimiterProperties.initialLimit = 10
+
+        when: "execute run"
+        ResultActions result = executeRun("json")
+
+        then: "run is rejected by the circuit breaker"
+        result.andExpect(status().is(503))
+                .andExpect(jsonPath("\$.errorCode").value(CIRCUIT_BREAKER_OPEN.errorCode))
+
+        and: "permission is released without decreasing the limit"
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiterRegistry.@concurrencyLimiters.getIfPresent(SUBSYSTEM_NAME)
+        limiter.inFlight == 0
+        limiter.limit == 10
+    }
+
+    def "Streaming call holds the concurrency limiter permission until the response body completes"() {
+
+        setup: "streaming call which returns the response headers"
+        DataBuffer dataBuffer = DefaultDataBufferFactory.sharedInstance.wrap("content".bytes)
+        Mono<ResponseEntity<Flux<DataBuffer>>> call = Mono.just(ResponseEntity.ok(Flux.just(dataBuffer)))
+
+        when: "response headers are received"
+        ResponseEntity<Flux<DataBuffer>> response = concurrencyLimiterRegistry.executeStreaming(SUBSYSTEM_NAME, call).block()
+
+        then: "permission is held"
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiterRegistry.@concurrencyLimiters.getIfPresent(SUBSYSTEM_NAME)
+        limiter.inFlight == 1
+
+        when: "response body completes"
+        response.body.blockLast()
+
+        then: "permission is released"
+        limiter.inFlight == 0
+    }
+
+    def "Run is delayed or rejected when the rate limit of the resource is reached"() {
+
+        setup: "Upload resource configuration with a rate limit of 2 requests per second and a burst of 1"
+        resourceConfigurationTestSteps.uploadResourceConfiguration("/run/resource-configuration/rate_limit.yml",
+                RESOURCE_CONFIGURATION_NAME, ["%PERMITS_PER_SECOND%": "2", "%MAX_WAIT_SECONDS%": maxWaitSeconds])
+
+        and: "stub external system request"
+        stubForRateLimitedResource(200)
+
+        when: "execute run using the permit of the burst"
+        executeRateLimitedRun().andExpect(status().is(200))
+
+        and: "execute run requiring a wait of 0.5 seconds for a permit"
+        long start = System.nanoTime()
+        ResultActions result = executeRateLimitedRun()
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000
+
+        then: "run is delayed until permitted, or rejected if the wait exceeds the max wait"
+        result.andExpect(status().is(expectedStatus))
+        if (expectedStatus == 429) {
+            result.andExpect(jsonPath("\$.errorCode").value(RATE_LIMIT_EXCEEDED.errorCode))
+        } else {
+            assert elapsedMillis >= 400
+        }
+        wireMock.verify(requestCount, getRequestedFor(urlEqualTo("/path-to-rate-limited-resource")))
+
+        where:
+        maxWaitSeconds | expectedStatus | requestCount
+        "0"            | 429            | 1
+        "2"            | 200            | 2
+    }
+
+    def "Retry of a run waits for a rate limit permit and is not performed when not permitted"() {
+
+        setup: "Upload resource configuration with a rate limit of 1 request per second and a burst of 1"
+        resourceConfigurationTestSteps.uploadResourceConfiguration("/run/resource-configuration/rate_limit.yml",
+                RESOURCE_CONFIGURATION_NAME, ["%PERMITS_PER_SECOND%": "1", "%MAX_WAIT_SECONDS%": maxWaitSeconds])
+
+        and: "stub external system request to fail with a retryable error"
+        stubForRateLimitedResource(503)
+
+        when: "execute run"
+        long start = System.nanoTime()
+        ResultActions result = executeRateLimitedRun()
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000
+
+        then: "the failure is returned"
+        result.andExpect(status().is(503))
+
+        and: "the retry waits for a permit, or is not performed if the wait exceeds the max wait"
+        wireMock.verify(requestCount, getRequestedFor(urlEqualTo("/path-to-rate-limited-resource")))
+        elapsedMillis >= minElapsedMillis
+
+        where:
+        maxWaitSeconds | requestCount | minElapsedMillis
+        "0"            | 1            | 0
+        "2"            | 2            | 900
+    }
+
+    private static void stubForRateLimitedResource(int status) {
+        stubFor(get(urlEqualTo("/path-to-rate-limited-resource"))
+                .willReturn(aResponse()
+                        .withStatus(status)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{}")))
+    }
+
+    private ResultActions executeRateLimitedRun() {
+        return runServiceTestSteps.executeRunResult(SUBSYSTEM_NAME, RESOURCE_CONFIGURATION_NAME, "rate-limited-resource",
+                new RunRequestDto().method("GET").responseFormat("original"))
+    }
+
+    private ResultActions executeRun(String responseFormat) {
+        resourceConfigurationTestSteps.uploadResourceConfiguration("/run/resource-configuration/response_success_handling.yml",
+                RESOURCE_CONFIGURATION_NAME)
+        return runServiceTestSteps.executeRunResult(SUBSYSTEM_NAME, RESOURCE_CONFIGURATION_NAME, "multi-method-resource",
+                new RunRequestDto().method("GET").responseFormat(responseFormat).inputs([id: "1", code: "200"]))
+    }
+}
@@ -22,17 +22,33 @@ import static com.ericsson.bos.dr.rest.service.exceptions.ErrorCode.RESOURCE_CON
 import static com.ericsson.bos.dr.rest.service.exceptions.ErrorCode.RESOURCE_NOT_FOUND
 import static com.ericsson.bos.dr.rest.service.exceptions.ErrorCode.RESOURCE_METHOD_NOT_FOUND
 import static com.ericsson.bos.dr.rest.service.exceptions.ErrorCode.GENERAL_ERROR
+import static com.ericsson.bos.dr.rest.service.exceptions.ErrorCode.BATCH_SIZE_EXCEEDED
 import static com.ericsson.bos.dr.rest.service.exceptions.ErrorCode.SUBSTITUTION_FAILED
 import static com.ericsson.bos.dr.rest.tests.integration.utils.IOUtils.readClasspathResourceAsBytes
 import static com.ericsson.bos.dr.rest.tests.integration.utils.IOUtils.readClasspathResourceAsString
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse
+import static com.github.tomakehurst.wiremock.client.WireMock.anyRequestedFor
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo
+import static com.github.tomakehurst.wiremock.client.WireMock.get
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor
+import static com.github.tomakehurst.wiremock.client.WireMock.post
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status
+import com.ericsson.bos.dr.rest.service.auth.AuthTokenInvalidationProperties
 import com.ericsson.bos.dr.rest.tests.integration.utils.WiremockUtil
+import com.ericsson.bos.dr.rest.web.v1.api.model.BatchRunItemDto
+import com.ericsson.bos.dr.rest.web.v1.api.model.BatchRunRequestDto
 import com.ericsson.bos.dr.rest.web.v1.api.model.ResourceConfigurationDto
 import com.ericsson.bos.dr.rest.web.v1.api.model.RunRequestDto
 import org.hamcrest.Matcher
+import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.http.HttpHeaders
 import org.springframework.test.web.servlet.ResultActions
 import org.springframework.test.web.servlet.ResultMatcher
@@ -40,6 +56,9 @@ import spock.lang.Unroll
 
 class RunServiceSpec extends BaseSpec {
 
+    @Autowired
+    AuthTokenInvalidationProperties authTokenInvalidationProperties
+
     @Unroll
     def "Execute run succeeds, request and response handling as expected using runRequest and resource configuration "() {
         setup: "Upload resource configuration"
@@ -163,6 +182,40 @@ class RunServiceSpec extends BaseSpec {
         401            | "transformationOutTemplate.json" | 200
     }
 
+    def "Execute run fails, error handling as expected using error handler structured condition"() {
+        setup: "Upload resource configuration with error handler condition"
+        String resourceConfigurationName = "EXTERNAL_SYSTEM"
+        resourceConfigurationTestSteps.uploadResourceConfiguration("/run/resource-configuration/condition_handling.yml",
+                resourceConfigurationName)
+
+        and: "stub subsystem manager request to return connected system"
+        String subsystemName = "external-system"
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=${subsystemName}",
+                "/run/responses/subsystem/subSystemResponse_BasicAuth.json")
+
+        and: "stub external system request to get resource and return error"
+        stubFor(get(urlEqualTo("/path/to/resource1"))
+                .willReturn(aResponse()
+                        .withStatus(400)
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("X-Error-Type", errorType)
+                        .withBody("{\"error\": {\"code\": \"${errorCode}\"}}")))
+
+        when: "execute run"
+        ResultActions result = runServiceTestSteps.executeRunResult(subsystemName, resourceConfigurationName, "resource1",
+                new RunRequestDto().method("GET").responseFormat("json"))
+
+        then: "error handler outbound is used only if status code, header and jq condition all match"
+        result.andExpect(status().is(expectedStatus))
+                .andExpect(jsonPath("\$.status").value(expectedResponseStatus))
+
+        where:
+        errorType | errorCode        | expectedStatus | expectedResponseStatus
+        "quota"   | "QUOTA_EXCEEDED" | 429            | "ERROR"
+        "other"   | "QUOTA_EXCEEDED" | 200            | "OK"
+        "quota"   | "INVALID"        | 200            | "OK"
+    }
+
     @Unroll
     def "Execute run fails, retrieving external system fails due to misconfiguration"() {
         setup: "Upload resource configuration"
@@ -563,4 +616,191 @@ class RunServiceSpec extends BaseSpec {
         result.andExpect(status().is(200))
                 .andExpect(content().bytes(readClasspathResourceAsBytes("/run/responses/external-system/original.zip")))
     }
+
+    def "Execute batch run returns a result for each item, in order, and a failed item does not fail the batch"() {
+        setup: "Upload resource configuration"
+        String resourceConfigurationName = "EXTERNAL_SYSTEM"
+        resourceConfigurationTestSteps.uploadResourceConfiguration("/run/resource-configuration/response_success_handling.yml",
+                resourceConfigurationName)
+
+        and: "stub subsystem manager request to return connected system"
+        String subsystemName = "external-system"
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=${subsystemName}",
+                "/run/responses/subsystem/subSystemResponse_BasicAuth.json")
+
+        and: "stub external system requests to get resource"
+        ["1", "2"].each {
+            WiremockUtil.stubForGetorPost("/path-to-multi-method-resource\\?id=${it}", "get", "application/json; charset=UTF-8", null,
+                    200, "application/json", "{\"name\": \"myName${it}\"}")
+        }
+
+        and: "create BatchRunRequestDto"
+        BatchRunRequestDto batchRunRequestDto = new BatchRunRequestDto().items([
+                new BatchRunItemDto().subsystemName(subsystemName).resourceConfigurationName(resourceConfigurationName)
+                        .resource("multi-method-resource")
+                        .runRequest(new RunRequestDto().method("GET").responseFormat("json").inputs([id: "1", code: "202", name: "foo"])),
+                new BatchRunItemDto().subsystemName(subsystemName).resourceConfigurationName(resourceConfigurationName)
+                        .resource("unknown-resource")
+                        .runRequest(new RunRequestDto().method("GET").responseFormat("json").inputs([id: "1"])),
+                new BatchRunItemDto().subsystemName(subsystemName).resourceConfigurationName(resourceConfigurationName)
+                        .resource("multi-method-resource")
+                        .runRequest(new RunRequestDto().method("GET").responseFormat("original").inputs([id: "2"]))])
+
+        when: "execute batch run"
+        ResultActions result = runServiceTestSteps.executeBatchRunResult(batchRunRequestDto)
+
+        then: "a result is returned for each item"
+        result.andExpect(status().is(200))
+                .andExpect(jsonPath("\$.results.length()").value(3))
+                .andExpect(jsonPath("\$.results[0].status").value(202))
+                .andExpect(jsonPath("\$.results[0].body").value("{\"transformationOutTemplate_Name\": \"myName1\"}\n"))
+                .andExpect(jsonPath("\$.results[1].status").value(404))
+                .andExpect(jsonPath("\$.results[1].error.errorCode").value(RESOURCE_NOT_FOUND.errorCode))
+                .andExpect(jsonPath("\$.results[2].status").value(200))
+                .andExpect(jsonPath("\$.results[2].body").value("{\"name\": \"myName2\"}"))
+    }
+
+    def "Execute batch run decodes original text bodies with the response charset and base64 encodes binary bodies"() {
+        setup: "Upload resource configuration"
+        String resourceConfigurationName = "EXTERNAL_SYSTEM"
+        resourceConfigurationTestSteps.uploadResourceConfiguration("/run/resource-configuration/response_success_handling.yml",
+                resourceConfigurationName)
+
+        and: "stub subsystem manager request to return connected system"
+        String subsystemName = "external-system"
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=${subsystemName}",
+                "/run/responses/subsystem/subSystemResponse_BasicAuth.json")
+
+        and: "stub external system requests to return binary content and an ISO-8859-1 encoded text"
+        byte[] binary = [0x50, 0x4B, 0x03, 0x04, 0x00, 0xFF, 0xFE, 0x80] as byte[]
+        stubFor(get(urlEqualTo("/path-to-multi-method-resource?id=1"))
+                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/octet-stream").withBody(binary)))
+        stubFor(get(urlEqualTo("/path-to-multi-method-resource?id=2"))
+                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "text/plain; charset=ISO-8859-1")
+                        .withBody("caf\u00e9".getBytes("ISO-8859-1"))))
+
+        and: "create BatchRunRequestDto"
+        BatchRunRequestDto batchRunRequestDto = new BatchRunRequestDto().items(["1", "2"].collect {
+            new BatchRunItemDto().subsystemName(subsystemName).resourceConfigurationName(resourceConfigurationName)
+                    .resource("multi-method-resource")
+                    .runRequest(new RunRequestDto().method("GET").responseFormat("original").inputs([id: it]))
+        })
+
+        when: "execute batch run"
+        ResultActions result = runServiceTestSteps.executeBatchRunResult(batchRunRequestDto)
+
+        then: "binary body is base64 encoded and text body is decoded with the response charset"
+        result.andExpect(status().is(200))
+                .andExpect(jsonPath("\$.results[0].body").value(binary.encodeBase64().toString()))
+                .andExpect(jsonPath("\$.results[0].bodyEncoding").value("base64"))
+                .andExpect(jsonPath("\$.results[1].body").value("caf\u00e9"))
+                .andExpect(jsonPath("\$.results[1].bodyEncoding").doesNotExist())
+    }
+
+    def "Execute batch run is rejected when the batch contains more than the maximum number of items"() {
+        setup: "create BatchRunRequestDto with 101 items"
+        BatchRunRequestDto batchRunRequestDto = new BatchRunRequestDto().items((1..101).collect {
+            new BatchRunItemDto().subsystemName("external-system").resourceConfigurationName("EXTERNAL_SYSTEM")
+                    .resource("multi-method-resource")
+                    .runRequest(new RunRequestDto().method("GET").responseFormat("json").inputs([id: "${it}"]))
+        })
+
+        when: "execute batch run"
+        ResultActions result = runServiceTestSteps.executeBatchRunResult(batchRunRequestDto)
+
+        then: "request is rejected without executing any item"
+        result.andExpect(status().is(400))
+                .andExpect(jsonPath("\$.errorCode").value(BATCH_SIZE_EXCEEDED.errorCode))
+        wireMock.verify(0, anyRequestedFor(anyUrl()))
+    }
+
+    def "Execute run re-authenticates and replays the request once when the auth token is rejected"() {
+        setup: "Upload resource configuration"
+        String resourceConfigurationName = "EXTERNAL_SYSTEM"
+        resourceConfigurationTestSteps.uploadResourceConfiguration("/run/resource-configuration/bearer_auth.yml", resourceConfigurationName)
+
+        and: "stub subsystem manager request to return connected system with bearer auth"
+        String subsystemName = "external-system"
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=${subsystemName}",
+                "/run/responses/subsystem/subSystemResponse_Bearer_external_system.json")
+
+        and: "configure 401 as an invalid token status for bearer auth"
+        authTokenInvalidationProperties.setStatusCodes([Bearer: [401] as Set])
+
+        and: "stub token endpoint to return a new token on each login"
+        stubForLogin(STARTED, "token1", "loggedIn")
+        stubForLogin("loggedIn", "token2", "loggedInAgain")
+
+        and: "stub external system to reject token1 and to respond with status for token2"
+        stubForProtectedResource("token1", 401)
+        stubForProtectedResource("token2", token2Status)
+
+        when: "execute run"
+        ResultActions result = runServiceTestSteps.executeRunResult(subsystemName, resourceConfigurationName, "protected-resource",
+                new RunRequestDto().method("GET").responseFormat("original"))
+
+        then: "response of the replayed request is returned"
+        result.andExpect(status().is(token2Status))
+
+        and: "rejected token is evicted and login is repeated once only"
+        wireMock.verify(2, postRequestedFor(urlEqualTo("/ecm_service/tokens")))
+
+        and: "request is replayed once only, with the new token"
+        wireMock.verify(1, getRequestedFor(urlEqualTo("/path-to-protected-resource")).withHeader("Authorization", equalTo("Bearer token1")))
+        wireMock.verify(1, getRequestedFor(urlEqualTo("/path-to-protected-resource")).withHeader("Authorization", equalTo("Bearer token2")))
+
+        cleanup:
+        authTokenInvalidationProperties.setStatusCodes([:])
+
+        where:
+        token2Status | _
+        200          | _
+        401          | _
+    }
+
+    def "Execute run does not re-authenticate when the auth token is rejected and no invalid token status is configured"() {
+        setup: "Upload resource configuration"
+        String resourceConfigurationName = "EXTERNAL_SYSTEM"
+        resourceConfigurationTestSteps.uploadResourceConfiguration("/run/resource-configuration/bearer_auth.yml", resourceConfigurationName)
+
+        and: "stub subsystem manager request to return connected system with bearer auth"
+        String subsystemName = "external-system"
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=${subsystemName}",
+                "/run/responses/subsystem/subSystemResponse_Bearer_external_system.json")
+
+        and: "stub token endpoint and external system to reject the token"
+        stubForLogin(STARTED, "token1", "loggedIn")
+        stubForProtectedResource("token1", 401)
+
+        when: "execute run twice"
+        List<ResultActions> results = (1..2).collect {
+            runServiceTestSteps.executeRunResult(subsystemName, resourceConfigurationName, "protected-resource",
+                    new RunRequestDto().method("GET").responseFormat("original"))
+        }
+
+        then: "rejection is returned without invalidating the token or replaying the request"
+        results.each { it.andExpect(status().is(401)) }
+        wireMock.verify(1, postRequestedFor(urlEqualTo("/ecm_service/tokens")))
+        wireMock.verify(2, getRequestedFor(urlEqualTo("/path-to-protected-resource")))
+    }
+
+    private static void stubForLogin(String scenarioState, String token, String nextScenarioState) {
+        stubFor(post(urlEqualTo("/ecm_service/tokens"))
+                .inScenario("login")
+                .whenScenarioStateIs(scenarioState)
+                .willSetStateTo(nextScenarioState)
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"status\": {\"credentials\": \"${token}\"}}")))
+    }
+
+    private static void stubForProtectedResource(String token, int status) {
+        stubFor(get(urlEqualTo("/path-to-protected-resource"))
+                .withHeader("Authorization", equalTo("Bearer ${token}"))
+                .willReturn(aResponse()
+                        .withStatus(status)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{}")))
+    }
 }
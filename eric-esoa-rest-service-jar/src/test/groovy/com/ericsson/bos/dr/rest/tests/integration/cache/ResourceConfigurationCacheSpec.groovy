@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.tests.integration.cache
+
+import static com.ericsson.bos.dr.rest.service.exceptions.ErrorCode.RESOURCE_CONFIGURATION_NOT_FOUND
+import static com.ericsson.bos.dr.rest.service.exceptions.ErrorCode.RESOURCE_NOT_FOUND
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status
+import com.ericsson.bos.dr.rest.model.resources.ResourceMethodDefinition
+import com.ericsson.bos.dr.rest.service.ResourceConfigurationService
+import com.ericsson.bos.dr.rest.service.cache.ResourceConfigurationDefinitionCache
+import com.ericsson.bos.dr.rest.service.exceptions.RestServiceException
+import com.ericsson.bos.dr.rest.tests.integration.BaseSpec
+import com.ericsson.bos.dr.rest.tests.integration.utils.WiremockUtil
+import com.ericsson.bos.dr.rest.web.v1.api.model.RunRequestDto
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Qualifier
+import org.springframework.cache.caffeine.CaffeineCache
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.transaction.support.TransactionTemplate
+
+class ResourceConfigurationCacheSpec extends BaseSpec {
+
+    @Autowired
+    ResourceConfigurationService resourceConfigurationService
+
+    @Autowired
+    ResourceConfigurationDefinitionCache resourceConfigurationDefinitionCache
+
+    @Autowired
+    @Qualifier("resourceConfigurationCache")
+    CaffeineCache resourceConfigurationCache
+
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    @Autowired
+    TransactionTemplate transactionTemplate
+
+    def cleanup() {
+        resourceConfigurationDefinitionCache.@versionCheckInterval = 5
+    }
+
+    def "Repeated run reuses the cached resource configuration without reloading it"() {
+        setup: "Upload resource configuration"
+        resourceConfigurationTestSteps.uploadResourceConfiguration("/run/resource-configuration/response_success_handling.yml",
+                "EXTERNAL_SYSTEM")
+
+        and: "stub subsystem manager and external system requests"
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=external-system",
+                "/run/responses/subsystem/subSystemResponse_BasicAuth.json")
+        WiremockUtil.stubForGetorPost("/path-to-multi-method-resource\\?id=1", "get", "application/json; charset=UTF-8", null,
+                200, "application/json", "{\"name\": \"myName\"}")
+        RunRequestDto runRequestDto = new RunRequestDto().method("GET").responseFormat("json").inputs([id: "1", code: "200"])
+
+        when: "execute run"
+        runServiceTestSteps.executeRunResult("external-system", "EXTERNAL_SYSTEM", "multi-method-resource", runRequestDto)
+                .andExpect(status().is(200))
+        Object cachedAfterFirstRun = cachedDefinition("EXTERNAL_SYSTEM")
+
+        and: "execute run again"
+        runServiceTestSteps.executeRunResult("external-system", "EXTERNAL_SYSTEM", "multi-method-resource", runRequestDto)
+                .andExpect(status().is(200))
+
+        then: "resource configuration is cached after the first run and is not reloaded by the second run"
+        cachedAfterFirstRun != null
+        cachedDefinition("EXTERNAL_SYSTEM").is(cachedAfterFirstRun)
+    }
+
+    def "Replace resource configuration evicts the cached resource configuration"() {
+        setup: "Upload resource configuration and cache its definition"
+        resourceConfigurationTestSteps.uploadResourceConfiguration("/resource-configurations/cts/cts.yml", "CTS")
+        resourceConfigurationService.getResourceMethodDefinition("CTS", "getobject", "get")
+
+        when: "Replace resource configuration without the getobject resource"
+        resourceConfigurationTestSteps.replaceResourceConfiguration("/resource-configurations/cts/cts_replaced.yml", "CTS")
+
+        then: "cached definition is evicted"
+        cachedDefinition("CTS") == null
+
+        when: "Get resource method of the replaced resource configuration"
+        resourceConfigurationService.getResourceMethodDefinition("CTS", "getobject", "get")
+
+        then: "replaced resource configuration is loaded"
+        RestServiceException exception = thrown(RestServiceException)
+        exception.errorMessage.errorCode == RESOURCE_NOT_FOUND.errorCode
+    }
+
+    def "Delete resource configuration evicts the cached resource configuration and run returns not found"() {
+        setup: "Upload resource configuration and cache its definition"
+        resourceConfigurationTestSteps.uploadResourceConfiguration("/resource-configurations/cts/cts.yml", "CTS")
+        resourceConfigurationService.getResourceMethodDefinition("CTS", "getobject", "get")
+
+        when: "Delete resource configuration"
+        resourceConfigurationTestSteps.deleteResourceConfiguration("CTS")
+
+        then: "cached definition is evicted"
+        cachedDefinition("CTS") == null
+
+        and: "run returns resource configuration not found"
+        runServiceTestSteps.executeRunResult("external-system", "CTS", "getobject", new RunRequestDto().method("get"))
+                .andExpect(status().is(404))
+                .andExpect(jsonPath("\$.errorCode").value(RESOURCE_CONFIGURATION_NOT_FOUND.errorCode))
+    }
+
+    def "Eviction within a transaction is deferred until the transaction completes"() {
+        setup: "Upload resource configuration and cache its definition"
+        resourceConfigurationTestSteps.uploadResourceConfiguration("/resource-configurations/cts/cts.yml", "CTS")
+        resourceConfigurationService.getResourceMethodDefinition("CTS", "getobject", "get")
+
+        when: "Evict within a transaction"
+        boolean cachedBeforeCommit = transactionTemplate.execute {
+            resourceConfigurationDefinitionCache.evict("CTS")
+            cachedDefinition("CTS") != null
+        }
+
+        then: "definition is cached until the transaction has committed"
+        cachedBeforeCommit
+        cachedDefinition("CTS") == null
+    }
+
+    def "Version changed by another service instance is detected after the version check interval"() {
+        setup: "Upload resource configuration and cache its definition"
+        resourceConfigurationTestSteps.uploadResourceConfiguration("/resource-configurations/cts/cts.yml", "CTS")
+        resourceConfigurationDefinitionCache.@versionCheckInterval = 1
+        ResourceMethodDefinition original = resourceConfigurationService.getResourceMethodDefinition("CTS", "getobject", "get")
+        Object cached = cachedDefinition("CTS")
+
+        when: "Version is updated directly in the database, as by another service instance"
+        jdbcTemplate.update("update resource_configuration set version = version + 1 where name = ?", "CTS")
+
+        then: "cached definition is used until the version check is due"
+        resourceConfigurationService.getResourceMethodDefinition("CTS", "getobject", "get").is(original)
+
+        when: "version check interval elapses"
+        Thread.sleep(1100)
+        ResourceMethodDefinition reloaded = resourceConfigurationService.getResourceMethodDefinition("CTS", "getobject", "get")
+
+        then: "new version is loaded"
+        !reloaded.is(original)
+        !cachedDefinition("CTS").is(cached)
+        cachedDefinition("CTS").@definition.version == cached.@definition.version + 1
+    }
+
+    def "Resource configuration deleted by another service instance returns not found after the version check interval"() {
+        setup: "Upload resource configuration and cache its definition"
+        resourceConfigurationTestSteps.uploadResourceConfiguration("/resource-configurations/cts/cts.yml", "CTS")
+        resourceConfigurationDefinitionCache.@versionCheckInterval = 1
+        resourceConfigurationService.getResourceMethodDefinition("CTS", "getobject", "get")
+
+        when: "Resource configuration is deleted directly in the database, as by another service instance"
+        jdbcTemplate.update("delete from resource_configuration where name = ?", "CTS")
+
+        and: "version check interval elapses"
+        Thread.sleep(1100)
+        resourceConfigurationService.getResourceMethodDefinition("CTS", "getobject", "get")
+
+        then: "resource configuration is not found and the cached definition is evicted"
+        RestServiceException exception = thrown(RestServiceException)
+        exception.errorMessage.errorCode == RESOURCE_CONFIGURATION_NOT_FOUND.errorCode
+        cachedDefinition("CTS") == null
+    }
+
+    private Object cachedDefinition(String resourceConfigurationName) {
+        return resourceConfigurationCache.get(resourceConfigurationName)?.get()
+    }
+}
@@ -17,17 +17,40 @@ package com.ericsson.bos.dr.rest.tests.integration.cache
 
 import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo
+import static org.springframework.http.MediaType.APPLICATION_JSON
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status
 import com.ericsson.bos.dr.rest.tests.integration.BaseSpec
 import com.ericsson.bos.dr.rest.tests.integration.utils.WiremockUtil
 import com.ericsson.bos.dr.rest.service.connectivity.ConnectivityRetriever
 import com.ericsson.bos.dr.rest.service.connectivity.Subsystem
+import com.ericsson.bos.dr.rest.service.auth.TokenData
+import org.springframework.test.web.servlet.MockMvc
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
 import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Qualifier
+import org.springframework.cache.caffeine.CaffeineCache
+import com.github.benmanes.caffeine.cache.LoadingCache
+import io.micrometer.core.instrument.MeterRegistry
 
 class SubsystemCacheSpec extends BaseSpec {
 
     @Autowired
     ConnectivityRetriever connectivityRetriever
 
+    @Autowired
+    @Qualifier("subsystemCache")
+    CaffeineCache subsystemCache
+
+    @Autowired
+    MockMvc mockMvc
+
+    @Autowired
+    MeterRegistry meterRegistry
+
     def "Get connected system returns value from cache if method has previously been called" () {
 
         setup: "Stub request to get connected system from subsystem manager"
@@ -44,4 +67,180 @@ class SubsystemCacheSpec extends BaseSpec {
         and: "Same subsystem is returned"
         subsystem1 == subsystem2
     }
+
+    def "Cached subsystem continues to be returned when reload from subsystem manager fails" () {
+
+        setup: "Stub request to get connected system from subsystem manager"
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=subsystem-1",
+                "/run/responses/subsystem/subSystemResponse_Bearer.json")
+        Subsystem subsystem1 = connectivityRetriever.getSubsystem("subsystem-1")
+
+        and: "Subsystem manager then fails"
+        WiremockUtil.stubForGetAndResponseStatus("/subsystem-manager/v1/subsystems\\?name=subsystem-1", 503,
+                "/run/responses/response.json")
+
+        when: "subsystem is reloaded"
+        ((LoadingCache) subsystemCache.getNativeCache()).refresh("subsystem-1").handle { s, e -> s }.join()
+
+        then: "Subsystem-manager is called again"
+        wireMock.verify(2 , getRequestedFor(urlEqualTo("/subsystem-manager/v1/subsystems?name=subsystem-1")))
+
+        and: "Cached subsystem is returned"
+        connectivityRetriever.getSubsystem("subsystem-1") == subsystem1
+    }
+
+    def "Subsystem and its auth token are evicted when subsystem manager reports a change" () {
+
+        setup: "Stub request to get connected system from subsystem manager"
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=SO",
+                "/run/responses/subsystem/subSystemResponse_Bearer.json")
+
+        and: "Subsystem and auth token are cached"
+        connectivityRetriever.getSubsystem("SO")
+        cacheManager.getCache("auth_token_cache").put("SO_ecm_token", new TokenData(token: "abcd", expireSeconds: 5))
+
+        and: "Retry budget of the subsystem is created"
+        retryBudgetRegistry.get("SO")
+
+        when: "Subsystem manager reports the subsystem is deleted"
+        mockMvc.perform(post("/rest-service/v1/subsystem-events")
+                .contentType(APPLICATION_JSON)
+                .content('{"eventType": "DELETED", "subsystemName": "SO"}'))
+                .andExpect(status().isNoContent())
+
+        then: "Subsystem and auth token are evicted"
+        subsystemCache.getNativeCache().getIfPresent("SO") == null
+        cacheManager.getCache("auth_token_cache").get("SO_ecm_token") == null
+
+        and: "Connection pool of the subsystem is disposed"
+        1 * httpExecutor.removeConnectionPool("SO")
+
+        and: "Retry budget of the subsystem is removed together with its meters"
+        retryBudgetRegistry.@retryBudgets.getIfPresent("SO") == null
+        meterRegistry.find("http_retry_budget_remaining").tag("subsystem", "SO").meters().isEmpty()
+
+        when: "Get connected system"
+        connectivityRetriever.getSubsystem("SO")
+
+        then: "Subsystem-manager is called again"
+        wireMock.verify(2 , getRequestedFor(urlEqualTo("/subsystem-manager/v1/subsystems?name=SO")))
+    }
+
+    def "Subsystem is evicted with its auth token and reloaded in the background when subsystem manager reports an update" () {
+
+        setup: "Stub request to get connected system from subsystem manager"
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=SO",
+                "/run/responses/subsystem/subSystemResponse_Bearer.json")
+
+        and: "Subsystem and auth token are cached"
+        Subsystem original = connectivityRetriever.getSubsystem("SO")
+        cacheManager.getCache("auth_token_cache").put("SO_ecm_token", new TokenData(token: "abcd", expireSeconds: 5))
+
+        and: "Subsystem is updated in subsystem manager"
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=SO",
+                "/run/responses/subsystem/subSystemResponse_Bearer_updated.json")
+
+        when: "Subsystem manager reports the subsystem is updated"
+        mockMvc.perform(post("/rest-service/v1/subsystem-events")
+                .contentType(APPLICATION_JSON)
+                .content('{"eventType": "UPDATED", "subsystemName": "SO"}'))
+                .andExpect(status().isNoContent())
+
+        then: "Auth token is evicted"
+        cacheManager.getCache("auth_token_cache").get("SO_ecm_token") == null
+
+        and: "Connection pool of the subsystem is not disposed"
+        0 * httpExecutor.removeConnectionPool(_)
+
+        and: "Subsystem is refetched from subsystem manager in the background"
+        new PollingConditions(timeout: 5).eventually {
+            Subsystem reloaded = subsystemCache.getNativeCache().getIfPresent("SO") as Subsystem
+            assert reloaded != null && !reloaded.is(original)
+        }
+        wireMock.verify(2 , getRequestedFor(urlEqualTo("/subsystem-manager/v1/subsystems?name=SO")))
+
+        when: "Get connected system"
+        Subsystem subsystem = connectivityRetriever.getSubsystem("SO")
+
+        then: "Reloaded subsystem with the new connection properties is returned without another fetch"
+        subsystem.getUrl() == "http://localhost:8082"
+        subsystem.getConnectionProfile().readTimeoutSeconds() == 30
+        wireMock.verify(2 , getRequestedFor(urlEqualTo("/subsystem-manager/v1/subsystems?name=SO")))
+    }
+
+    def "Subsystems using an auth subsystem are evicted with their auth token and reloaded when the auth subsystem is updated" () {
+
+        setup: "Stub requests to get connected systems and their auth subsystem from subsystem manager"
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=SO",
+                "/run/responses/subsystem/subSystemResponse_AuthSubsystem.json")
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=auth-subsystem",
+                "/run/responses/subsystem/subSystemResponse_Bearer_auth_subsystem.json")
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=external-system",
+                "/run/responses/subsystem/subSystemResponse_Bearer_external_system.json")
+
+        and: "Subsystems and auth tokens are cached"
+        Subsystem original = connectivityRetriever.getSubsystem("SO")
+        Subsystem unaffected = connectivityRetriever.getSubsystem("external-system")
+        cacheManager.getCache("auth_token_cache").put("auth-subsystem_ecm_token", new TokenData(token: "abcd", expireSeconds: 5))
+        cacheManager.getCache("auth_token_cache").put("external-system_ecm_token", new TokenData(token: "efgh", expireSeconds: 5))
+
+        and: "Auth subsystem is updated in subsystem manager"
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=auth-subsystem",
+                "/run/responses/subsystem/subSystemResponse_Bearer_auth_subsystem_updated.json")
+
+        when: "Subsystem manager reports the auth subsystem is updated"
+        mockMvc.perform(post("/rest-service/v1/subsystem-events")
+                .contentType(APPLICATION_JSON)
+                .content('{"eventType": "UPDATED", "subsystemName": "auth-subsystem"}'))
+                .andExpect(status().isNoContent())
+
+        then: "Auth token of the auth subsystem is evicted, and the auth token of the other subsystem is kept"
+        cacheManager.getCache("auth_token_cache").get("auth-subsystem_ecm_token") == null
+        cacheManager.getCache("auth_token_cache").get("external-system_ecm_token") != null
+
+        and: "Subsystem using the auth subsystem is refetched in the background, together with the auth subsystem"
+        new PollingConditions(timeout: 5).eventually {
+            Subsystem reloaded = subsystemCache.getNativeCache().getIfPresent("SO") as Subsystem
+            assert reloaded != null && !reloaded.is(original)
+        }
+        wireMock.verify(2 , getRequestedFor(urlEqualTo("/subsystem-manager/v1/subsystems?name=SO")))
+        wireMock.verify(2 , getRequestedFor(urlEqualTo("/subsystem-manager/v1/subsystems?name=auth-subsystem")))
+
+        and: "Reloaded subsystem authenticates with the updated auth subsystem"
+        connectivityRetriever.getSubsystem("SO").getConnectionProfile().joinedAuthUrl() == "http://localhost:8081 ecm_service/v2/tokens"
+
+        and: "Subsystem which does not use the auth subsystem is not evicted"
+        connectivityRetriever.getSubsystem("external-system").is(unaffected)
+        wireMock.verify(1 , getRequestedFor(urlEqualTo("/subsystem-manager/v1/subsystems?name=external-system")))
+    }
+
+    def "Concurrent requests for a subsystem share a single fetch and auth subsystem is fetched once" () {
+
+        setup: "Stub requests to get connected systems and their auth subsystem from subsystem manager"
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=subsystem-1",
+                "/run/responses/subsystem/subSystemResponse_AuthSubsystem.json")
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=subsystem-2",
+                "/run/responses/subsystem/subSystemResponse_AuthSubsystem.json")
+        WiremockUtil.stubForGet("/subsystem-manager/v1/subsystems\\?name=auth-subsystem",
+                "/run/responses/subsystem/subSystemResponse_Bearer.json")
+
+        when: "concurrent calls to get connected system"
+        def executor = Executors.newFixedThreadPool(5)
+        List<CompletableFuture<Subsystem>> results = (1..5).collect {
+            CompletableFuture.supplyAsync({ connectivityRetriever.getSubsystem("subsystem-1") }, executor)
+        }
+        results.each { it.join() }
+        executor.shutdown()
+
+        and: "get another connected system with the same auth subsystem"
+        Subsystem subsystem2 = connectivityRetriever.getSubsystem("subsystem-2")
+
+        then: "Subsystem-manager is called once for each subsystem and once for the auth subsystem"
+        wireMock.verify(1 , getRequestedFor(urlEqualTo("/subsystem-manager/v1/subsystems?name=subsystem-1")))
+        wireMock.verify(1 , getRequestedFor(urlEqualTo("/subsystem-manager/v1/subsystems?name=subsystem-2")))
+        wireMock.verify(1 , getRequestedFor(urlEqualTo("/subsystem-manager/v1/subsystems?name=auth-subsystem")))
+
+        and: "auth subsystem is shared"
+        subsystem2.getAuthSubsystem().get().is(results[0].join().getAuthSubsystem().get())
+    }
 }
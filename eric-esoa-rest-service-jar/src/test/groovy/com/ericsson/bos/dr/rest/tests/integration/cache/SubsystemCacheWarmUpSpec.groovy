@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.tests.integration.cache
+
+import static com.ericsson.bos.dr.rest.tests.integration.utils.IOUtils.readClasspathResourceAsString
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse
+import static com.github.tomakehurst.wiremock.client.WireMock.get
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor
+import static com.github.tomakehurst.wiremock.client.WireMock.post
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo
+
+import java.time.Duration
+
+import com.ericsson.bos.dr.rest.service.connectivity.SubsystemCacheWarmUp
+import com.ericsson.bos.dr.rest.service.connectivity.SubsystemWarmUpProperties
+import com.ericsson.bos.dr.rest.tests.integration.BaseSpec
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Qualifier
+import org.springframework.cache.caffeine.CaffeineCache
+import org.springframework.context.ApplicationContext
+
+class SubsystemCacheWarmUpSpec extends BaseSpec {
+
+    static final String SUBSYSTEMS_PATH = "/subsystem-manager/v1/subsystems"
+
+    @Autowired
+    ApplicationContext applicationContext
+
+    @Autowired
+    @Qualifier("subsystemCache")
+    CaffeineCache subsystemCache
+
+    @Autowired
+    @Qualifier("authTokenCache")
+    CaffeineCache authTokenCache
+
+    def "Subsystems are fetched in pages up to the maximum and added to the cache"() {
+        setup: "subsystem manager returns pages of subsystems"
+        stubForPage(0, 2, ["subsystem-1", "subsystem-2"])
+        stubForPage(2, 1, ["subsystem-3"])
+
+        when: "warm up with page size 2 and maximum of 3 subsystems"
+        warmUp(new SubsystemWarmUpProperties(pageSize: 2, maxSubsystems: 3))
+
+        then: "pages are requested with offset and limit until the maximum is reached"
+        wireMock.verify(2, getRequestedFor(urlPathEqualTo(SUBSYSTEMS_PATH)))
+        wireMock.verify(1, getRequestedFor(urlEqualTo("${SUBSYSTEMS_PATH}?offset=0&limit=2")))
+        wireMock.verify(1, getRequestedFor(urlEqualTo("${SUBSYSTEMS_PATH}?offset=2&limit=1")))
+
+        and: "all subsystems are cached"
+        ["subsystem-1", "subsystem-2", "subsystem-3"].every { subsystemCache.getNativeCache().getIfPresent(it) != null }
+    }
+
+    def "Fetching stops at a page with fewer subsystems than the page size"() {
+        setup: "subsystem manager returns a partial page"
+        stubForPage(0, 2, ["subsystem-1"])
+
+        when: "warm up with page size 2"
+        warmUp(new SubsystemWarmUpProperties(pageSize: 2, maxSubsystems: 10))
+
+        then: "only one page is requested"
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo(SUBSYSTEMS_PATH)))
+        subsystemCache.getNativeCache().getIfPresent("subsystem-1") != null
+    }
+
+    def "Warm-up stops fetching and skips pre-authentication once the timeout has elapsed"() {
+        setup: "subsystem manager returns full pages"
+        stubForPage(0, 1, ["subsystem-1"])
+        stubForPage(1, 1, ["subsystem-2"])
+        stubForLogin(200)
+
+        when: "warm up with an elapsed timeout"
+        warmUp(new SubsystemWarmUpProperties(pageSize: 1, maxSubsystems: 10, timeout: Duration.ZERO,
+                preAuthenticate: ["subsystem-1"]))
+
+        then: "only the first page is fetched and cached"
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo(SUBSYSTEMS_PATH)))
+        subsystemCache.getNativeCache().getIfPresent("subsystem-1") != null
+
+        and: "subsystem is not pre-authenticated"
+        wireMock.verify(0, postRequestedFor(urlEqualTo("/ecm_service/tokens")))
+    }
+
+    def "Configured subsystems are pre-authenticated using the warmed cache"() {
+        setup: "subsystem manager returns subsystems and external system returns a token"
+        stubForPage(0, 10, ["subsystem-1", "subsystem-2"])
+        stubForLogin(200)
+
+        when: "warm up and pre-authenticate subsystem-1"
+        warmUp(new SubsystemWarmUpProperties(pageSize: 10, maxSubsystems: 10, preAuthenticate: ["subsystem-1"]))
+
+        then: "subsystem is authenticated once and its token cached"
+        wireMock.verify(1, postRequestedFor(urlEqualTo("/ecm_service/tokens")))
+        authTokenCache.getNativeCache().estimatedSize() == 1
+
+        and: "subsystem is not fetched again by name"
+        wireMock.verify(0, getRequestedFor(urlEqualTo("${SUBSYSTEMS_PATH}?name=subsystem-1")))
+    }
+
+    def "Failures to fetch subsystems or to pre-authenticate do not fail the warm-up"() {
+        setup: "subsystem manager fails to return a page"
+        stubFor(get(urlEqualTo("${SUBSYSTEMS_PATH}?offset=0&limit=10")).willReturn(aResponse().withStatus(500)))
+
+        and: "subsystem-1 is not found and subsystem-2 fails to authenticate"
+        stubForName("subsystem-1", [])
+        stubForName("subsystem-2", ["subsystem-2"])
+        stubForLogin(500)
+
+        when: "warm up and pre-authenticate both subsystems"
+        warmUp(new SubsystemWarmUpProperties(pageSize: 10, maxSubsystems: 10, preAuthenticate: ["subsystem-1", "subsystem-2"]))
+
+        then: "warm-up completes without error, attempting to pre-authenticate each subsystem"
+        noExceptionThrown()
+        wireMock.verify(1, getRequestedFor(urlEqualTo("${SUBSYSTEMS_PATH}?name=subsystem-1")))
+        wireMock.verify(1, getRequestedFor(urlEqualTo("${SUBSYSTEMS_PATH}?name=subsystem-2")))
+        wireMock.verify(1, postRequestedFor(urlEqualTo("/ecm_service/tokens")))
+        authTokenCache.getNativeCache().estimatedSize() == 0
+    }
+
+    private void warmUp(SubsystemWarmUpProperties warmUpProperties) {
+        SubsystemCacheWarmUp warmUp = new SubsystemCacheWarmUp()
+        applicationContext.getAutowireCapableBeanFactory().autowireBean(warmUp)
+        warmUp.warmUpProperties = warmUpProperties
+        warmUp.run(null)
+    }
+
+    private static void stubForPage(int offset, int limit, List<String> subsystemNames) {
+        stubFor(get(urlEqualTo("${SUBSYSTEMS_PATH}?offset=${offset}&limit=${limit}"))
+                .willReturn(subsystemsResponse(subsystemNames)))
+    }
+
+    private static void stubForName(String subsystemName, List<String> subsystemNames) {
+        stubFor(get(urlEqualTo("${SUBSYSTEMS_PATH}?name=${subsystemName}"))
+                .willReturn(subsystemsResponse(subsystemNames)))
+    }
+
+    private static subsystemsResponse(List<String> subsystemNames) {
+        ObjectMapper objectMapper = new ObjectMapper()
+        Map subsystem = objectMapper.readValue(
+                readClasspathResourceAsString("/run/responses/subsystem/subSystemResponse_Bearer_external_system.json"), List)[0] as Map
+        List subsystems = subsystemNames.collect { subsystem + [name: it] }
+        return aResponse().withStatus(200).withHeader("Content-Type", "application/json")
+                .withBody(objectMapper.writeValueAsString(subsystems))
+    }
+
+    private static void stubForLogin(int status) {
+        stubFor(post(urlEqualTo("/ecm_service/tokens"))
+                .willReturn(aResponse()
+                        .withStatus(status)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"status\": {\"credentials\": \"token1\"}}")))
+    }
+}
@@ -18,9 +18,15 @@ package com.ericsson.bos.dr.rest.tests.integration.cache
 import com.ericsson.bos.dr.rest.service.auth.TokenData
 import com.ericsson.bos.dr.rest.service.cache.TokenCache
 import com.ericsson.bos.dr.rest.tests.integration.BaseSpec
+import io.micrometer.core.instrument.MeterRegistry
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.cache.caffeine.CaffeineCache
+import spock.util.concurrent.PollingConditions
 
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
 import java.util.function.Supplier
 
 class TokenCacheSpec extends BaseSpec {
@@ -31,6 +37,9 @@ class TokenCacheSpec extends BaseSpec {
     @Autowired
     CaffeineCache caffeineCache
 
+    @Autowired
+    MeterRegistry meterRegistry
+
     def "token is read only once from TokenSupplier and subsequently from cache"() {
         setup: "invalidate cache"
         caffeineCache.getNativeCache().invalidateAll()
@@ -56,4 +65,117 @@ class TokenCacheSpec extends BaseSpec {
         assert (TokenData) caffeineCache.getNativeCache().getIfPresent("tokenCacheKey") == tokenData
     }
 
+    def "concurrent requests for the same token share a single load from TokenSupplier"() {
+        setup: "invalidate cache"
+        caffeineCache.getNativeCache().invalidateAll()
+
+        and: "TokenData Supplier which blocks until all other requests are waiting for the load"
+        def tokenData = new TokenData(token: "abcd", expireSeconds: 5)
+        def waiters = meterRegistry.get("auth_token_cache_load_waiters").gauge()
+        def waits = meterRegistry.get("auth_token_cache_load_waits").counter()
+        double waitsBefore = waits.count()
+        AtomicInteger loadCount = new AtomicInteger()
+        Supplier<TokenData> supplier = {
+            loadCount.incrementAndGet()
+            new PollingConditions(timeout: 5).eventually {
+                assert waiters.value() == 4
+            }
+            tokenData
+        } as Supplier<TokenData>
+
+        when: "concurrent calls to get token"
+        def executor = Executors.newFixedThreadPool(5)
+        List<CompletableFuture<TokenData>> results = (1..5).collect {
+            CompletableFuture.supplyAsync({ tokenCache.getTokenData("tokenCacheKey", supplier) }, executor)
+        }
+        List<TokenData> actualTokenData = results.collect { it.join() }
+        executor.shutdown()
+
+        then: "supplier of TokenData only called once and the other requests waited for that load"
+        loadCount.get() == 1
+        waits.count() - waitsBefore == 4
+        waiters.value() == 0
+
+        and: "all requests get the TokenData"
+        actualTokenData.every { it == tokenData }
+    }
+
+    def "token is refreshed in the background ahead of expiry while the existing token is returned"() {
+        setup: "invalidate cache"
+        caffeineCache.getNativeCache().invalidateAll()
+
+        and: "TokenData Supplier which returns a new token for each call"
+        def tokenData1 = new TokenData(token: "token1", expireSeconds: 60)
+        def tokenData2 = new TokenData(token: "token2", expireSeconds: 60)
+        Supplier<TokenData> supplier = Mock(Supplier)
+        supplier.get() >>> [tokenData1, tokenData2]
+
+        when: "get token and move it to within the last 20% of its lifetime"
+        tokenCache.getTokenData("tokenCacheKey", supplier)
+        expireAfter("tokenCacheKey", Duration.ofSeconds(5))
+
+        then: "existing token is returned and refresh is triggered"
+        tokenCache.getTokenData("tokenCacheKey", supplier) == tokenData1
+
+        and: "refreshed token is returned once loaded"
+        new PollingConditions(timeout: 1).eventually {
+            assert tokenCache.getTokenData("tokenCacheKey", supplier) == tokenData2
+        }
+    }
+
+    def "failed refresh is not retried until the retry interval has elapsed"() {
+        setup: "invalidate cache"
+        caffeineCache.getNativeCache().invalidateAll()
+
+        and: "TokenData Supplier which fails after the first call"
+        def tokenData = new TokenData(token: "token1", expireSeconds: 60)
+        AtomicInteger loadCount = new AtomicInteger()
+        Supplier<TokenData> supplier = {
+            if (loadCount.incrementAndGet() > 1) {
+                throw new IllegalStateException("login failed")
+            }
+            tokenData
+        } as Supplier<TokenData>
+
+        when: "get token, move it to within the last 20% of its lifetime and wait for the refresh to fail"
+        tokenCache.getTokenData("tokenCacheKey", supplier)
+        expireAfter("tokenCacheKey", Duration.ofSeconds(5))
+        tokenCache.getTokenData("tokenCacheKey", supplier)
+        new PollingConditions(timeout: 1).eventually {
+            assert loadCount.get() == 2
+            assert !tokenCache.loadsInFlight.containsKey("tokenCacheKey")
+        }
+
+        then: "existing token is returned without another refresh"
+        (1..5).every { tokenCache.getTokenData("tokenCacheKey", supplier) == tokenData }
+        loadCount.get() == 2
+
+        when: "retry interval has elapsed"
+        tokenCache.refreshRetryTimes.put("tokenCacheKey", System.nanoTime())
+        tokenCache.getTokenData("tokenCacheKey", supplier)
+
+        then: "refresh is attempted again"
+        new PollingConditions(timeout: 1).eventually {
+            assert loadCount.get() == 3
+        }
+    }
+
+    def "token is evicted only if it is the token which was rejected"() {
+        setup: "invalidate cache and load token"
+        caffeineCache.getNativeCache().invalidateAll()
+        def tokenData = new TokenData(token: "abcd", expireSeconds: 5)
+        tokenCache.getTokenData("tokenCacheKey", { tokenData } as Supplier<TokenData>)
+
+        expect: "token not evicted when a different token was rejected"
+        tokenCache.evict("tokenCacheKey", "other") == false
+        caffeineCache.getNativeCache().getIfPresent("tokenCacheKey") == tokenData
+
+        and: "token evicted when the cached token was rejected"
+        tokenCache.evict("tokenCacheKey", "abcd") == true
+        caffeineCache.getNativeCache().getIfPresent("tokenCacheKey") == null
+    }
+
+    private void expireAfter(String authKey, Duration duration) {
+        caffeineCache.getNativeCache().policy().expireVariably().get().setExpiresAfter(authKey, duration)
+    }
 }
@@ -16,20 +16,23 @@
 package com.ericsson.bos.dr.rest.tests.integration.teststeps
 
 import static org.springframework.http.MediaType.APPLICATION_JSON
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status
 import com.ericsson.bos.dr.rest.tests.integration.utils.JsonUtils
+import com.ericsson.bos.dr.rest.web.v1.api.model.BatchRunRequestDto
 import com.ericsson.bos.dr.rest.web.v1.api.model.RunRequestDto
 import org.apache.commons.lang3.StringUtils
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.stereotype.Component
 import org.springframework.test.web.servlet.MockMvc
+import org.springframework.test.web.servlet.MvcResult
 import org.springframework.test.web.servlet.ResultActions
 
 @Component
 class RunServiceTestSteps {
 
     private static final String RUN_URL = "/rest-service/v1/run"
+    private static final String RUN_BATCH_URL = "/rest-service/v1/run-batch"
 
     @Autowired
     private MockMvc mockMvc
@@ -39,9 +42,19 @@ class RunServiceTestSteps {
         RunRequestDto runRequestDto) {
         String url = StringUtils.join(RUN_URL,"/",subsystemName,"/",resourceConfigurationName,"/",resource)
 
-        return mockMvc.perform(post(url)
+        ResultActions resultActions = mockMvc.perform(post(url)
                 .contentType(APPLICATION_JSON)
                 .content(JsonUtils.toJsonString(runRequestDto)))
-//                .andExpect(status().isOk())
+        // the run response is asynchronous, unless the request is rejected before reaching the controller
+        MvcResult mvcResult = resultActions.andReturn()
+        return mvcResult.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(mvcResult)) : resultActions
+    }
+
+    ResultActions executeBatchRunResult(BatchRunRequestDto batchRunRequestDto) {
+        ResultActions resultActions = mockMvc.perform(post(RUN_BATCH_URL)
+                .contentType(APPLICATION_JSON)
+                .content(JsonUtils.toJsonString(batchRunRequestDto)))
+        MvcResult mvcResult = resultActions.andReturn()
+        return mvcResult.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(mvcResult)) : resultActions
     }
 }
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.tests.unit.auth
+
+import com.ericsson.bos.dr.rest.service.auth.AuthHandlerFactory
+import com.ericsson.bos.dr.rest.service.auth.BasicAuthHandler
+import com.ericsson.bos.dr.rest.service.auth.BearerHandler
+import com.ericsson.bos.dr.rest.service.exceptions.ErrorCode
+import com.ericsson.bos.dr.rest.service.exceptions.RestServiceException
+import spock.lang.Specification
+
+class AuthHandlerFactorySpec extends Specification {
+
+    AuthHandlerFactory authHandlerFactory = new AuthHandlerFactory(authHandlers: [new BasicAuthHandler(), new BearerHandler()])
+
+    def setup() {
+        authHandlerFactory.indexAuthHandlers()
+    }
+
+    def "Auth handler is returned for auth type regardless of case"() {
+        expect: "auth handler of the auth type is returned"
+        authHandlerFactory.get(authType).authType() == expectedAuthType
+
+        where:
+        authType    | expectedAuthType
+        "Bearer"    | "Bearer"
+        "bearer"    | "Bearer"
+        "BASICAUTH" | "BasicAuth"
+    }
+
+    def "Exception is thrown for unsupported auth type"() {
+        when: "get auth handler for unsupported auth type"
+        authHandlerFactory.get(authType)
+
+        then: "exception is thrown"
+        RestServiceException restServiceException = thrown(RestServiceException)
+        restServiceException.errorMessage.errorCode == ErrorCode.AUTH_HANDLER_NOT_SUPPORTED.errorCode
+
+        where:
+        authType << ["Unknown", null]
+    }
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.tests.unit.condition
+
+import org.springframework.http.HttpHeaders
+
+import com.ericsson.bos.dr.rest.service.condition.ConditionContext
+import com.ericsson.bos.dr.rest.service.condition.ResponseCondition
+import com.ericsson.bos.dr.rest.web.v1.api.model.ConditionDto
+import com.ericsson.bos.dr.rest.web.v1.api.model.HeaderConditionDto
+import spock.lang.Specification
+
+class ResponseConditionSpec extends Specification {
+
+    def "Status code condition matches codes, ranges and classes"() {
+
+        given: "status code condition"
+        ResponseCondition condition = ResponseCondition.of(new ConditionDto(statusCodes: ["429", "500-503", "4xx"]))
+
+        expect: "condition is matched according to status code"
+        condition.test(new ConditionContext(statusCode, HttpHeaders.EMPTY, () -> null, false)) == matched
+
+        where:
+        statusCode | matched
+        429        | true
+        500        | true
+        503        | true
+        504        | false
+        404        | true
+        200        | false
+        null       | false
+    }
+
+    def "Header condition matches header values"() {
+
+        given: "header condition"
+        ResponseCondition condition = ResponseCondition.of(new ConditionDto(
+                headers: [new HeaderConditionDto(name: "Content-Type", contains: "json"), new HeaderConditionDto(name: "x-state", equals: "busy")]))
+        HttpHeaders headers = new HttpHeaders()
+        headers.add("content-type", "application/json")
+        headers.add("X-State", state)
+
+        expect: "condition is matched if all headers match"
+        condition.test(new ConditionContext(200, headers, () -> null, false)) == matched
+
+        where:
+        state     | matched
+        "busy"    | true
+        "idle"    | false
+    }
+
+    def "jq condition is matched against the body, which is only read if required"() {
+
+        given: "status code and jq condition"
+        ResponseCondition condition = ResponseCondition.of(new ConditionDto(statusCodes: ["500"], jq: '.error.code == "E1"'))
+        int bodyReads = 0
+
+        expect: "condition is matched according to the body"
+        condition.test(new ConditionContext(500, HttpHeaders.EMPTY, () -> { bodyReads++; '{"error": {"code": "E1"}}' }, false))
+        !condition.test(new ConditionContext(500, HttpHeaders.EMPTY, () -> { bodyReads++; '{"error": {"code": "E2"}}' }, false))
+        !condition.test(new ConditionContext(500, HttpHeaders.EMPTY, () -> { bodyReads++; 'not json' }, false))
+
+        and: "body is not read if the status code does not match"
+        !condition.test(new ConditionContext(200, HttpHeaders.EMPTY, () -> { bodyReads++; '{"error": {"code": "E1"}}' }, false))
+        bodyReads == 3
+    }
+
+    def "Connection failure condition matches failures without a response"() {
+
+        given: "connection failure condition"
+        ResponseCondition condition = ResponseCondition.of(new ConditionDto(connectionFailure: true))
+
+        expect: "condition is matched if the connection failed"
+        condition.test(new ConditionContext(null, null, () -> null, true))
+        !condition.test(new ConditionContext(503, HttpHeaders.EMPTY, () -> null, false))
+    }
+
+    def "Condition is compiled once per condition instance"() {
+
+        given: "condition"
+        ConditionDto conditionDto = new ConditionDto(statusCodes: ["503"])
+
+        expect: "same compiled condition is returned"
+        ResponseCondition.of(conditionDto).is(ResponseCondition.of(conditionDto))
+    }
+}
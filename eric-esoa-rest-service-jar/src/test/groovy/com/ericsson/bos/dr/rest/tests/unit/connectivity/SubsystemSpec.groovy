@@ -15,6 +15,7 @@
  ******************************************************************************/
 package com.ericsson.bos.dr.rest.tests.unit.connectivity
 
+import com.ericsson.bos.dr.rest.service.connectivity.ConnectionProfile
 import com.ericsson.bos.dr.rest.service.connectivity.ConnectionProperties
 import com.ericsson.bos.dr.rest.service.connectivity.Subsystem
 import com.fasterxml.jackson.core.type.TypeReference
@@ -183,6 +184,32 @@ class SubsystemSpec extends Specification {
         ]
     }
 
+    def "connection profile resolves auth properties from the auth subsystem"() {
+
+        setup: "Create subsystem with auth subsystem"
+        Subsystem subsystem = new Subsystem(url: "http://subsystem", connectionProperties: [new ConnectionProperties(
+                authSubsystemName: "auth_subsystem", sslVerify: true, readTimeoutSeconds: 30)])
+        Subsystem authSubsystem = new Subsystem(url: "http://auth", connectionProperties: [new ConnectionProperties(
+                authType: "Bearer", authKey: "token", authUrl: "/tokens")])
+        subsystem.setAuthSubsystem(authSubsystem)
+
+        when: "get connection profile"
+        ConnectionProfile connectionProfile = subsystem.getConnectionProfile()
+
+        then: "auth properties are those of the auth subsystem"
+        connectionProfile.authType() == "Bearer"
+        connectionProfile.authKey() == "token"
+        connectionProfile.joinedAuthUrl() == "http://auth/tokens"
+
+        and: "connection properties are those of the subsystem"
+        connectionProfile.sslVerify()
+        connectionProfile.readTimeoutSeconds() == 30
+        connectionProfile.connectTimeoutSeconds() == 10
+
+        and: "connection profile is reused"
+        subsystem.getConnectionProfile().is(connectionProfile)
+    }
+
     def getSubsystemWithUnderscores() {
         return ["/ssm-response-parsing/subsystem_with_underscores_in_keys.json",
                 "user",
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.tests.unit.http
+
+import java.time.Duration
+
+import com.ericsson.bos.dr.rest.service.http.HttpRequest
+import com.ericsson.bos.dr.rest.service.http.SubsystemRegistryProperties
+import com.ericsson.bos.dr.rest.service.http.circuitbreaker.CircuitBreaker
+import com.ericsson.bos.dr.rest.service.http.circuitbreaker.CircuitBreakerProperties
+import com.ericsson.bos.dr.rest.service.http.circuitbreaker.CircuitBreakerRegistry
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.http.ResponseEntity
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+
+class CircuitBreakerRegistrySpec extends Specification {
+
+    CircuitBreakerProperties properties = new CircuitBreakerProperties(enabled: true, slowCallDuration: Duration.ofSeconds(10),
+            slidingWindowSize: 4, minimumNumberOfCalls: 4, permittedCallsInHalfOpenState: 2)
+    CircuitBreakerRegistry circuitBreakerRegistry = new CircuitBreakerRegistry()
+    HttpRequest httpRequest = new HttpRequest(subsystemName: "subsystem1")
+
+    MeterRegistry meterRegistry = new SimpleMeterRegistry()
+
+    def setup() {
+        circuitBreakerRegistry.@circuitBreakerProperties = properties
+        circuitBreakerRegistry.@meterRegistry = meterRegistry
+        circuitBreakerRegistry.@subsystemRegistryProperties = new SubsystemRegistryProperties()
+        circuitBreakerRegistry.init()
+    }
+
+    def "Only the configured failure status codes are recorded as failures"() {
+
+        when: "execute a call returning the status code"
+        circuitBreakerRegistry.execute(httpRequest, Mono.just(ResponseEntity.status(status).build())).block()
+
+        then: "the call is recorded with the expected outcome"
+        circuitBreakerRegistry.getCircuitBreakers().get("subsystem1").failureRate == failureRate
+
+        where:
+        status | failureRate
+        200    | 0
+        404    | 0
+        500    | 0
+        501    | 0
+        502    | 100
+        503    | 100
+        504    | 100
+    }
+
+    def "Call error is recorded as a failure"() {
+
+        when: "execute a call which fails"
+        circuitBreakerRegistry.execute(httpRequest, Mono.error(new ConnectException())).onErrorComplete().block()
+
+        then: "the call is recorded as a failure"
+        circuitBreakerRegistry.getCircuitBreakers().get("subsystem1").failureRate == 100
+    }
+
+    def "Cancel after the result is recorded does not release the permission"() {
+
+        setup: "register a circuit breaker spy"
+        CircuitBreaker circuitBreaker = Spy(constructorArgs: ["subsystem1", properties, () -> System.nanoTime()])
+        circuitBreakerRegistry.@circuitBreakers.put("subsystem1", circuitBreaker)
+
+        when: "execute a call and cancel it after the response is received"
+        circuitBreakerRegistry.execute(httpRequest, Mono.just(ResponseEntity.ok().build())).flux().take(1).blockLast()
+
+        then: "the result is recorded once and the permission is not released"
+        1 * circuitBreaker.onResult(false, _)
+        0 * circuitBreaker.releasePermission()
+    }
+
+    def "Cancel before the result is received releases the permission"() {
+
+        setup: "register a circuit breaker spy"
+        CircuitBreaker circuitBreaker = Spy(constructorArgs: ["subsystem1", properties, () -> System.nanoTime()])
+        circuitBreakerRegistry.@circuitBreakers.put("subsystem1", circuitBreaker)
+
+        when: "execute a call and cancel it before it completes"
+        circuitBreakerRegistry.execute(httpRequest, Mono.never()).subscribe().dispose()
+
+        then: "the permission is released and no result is recorded"
+        1 * circuitBreaker.releasePermission()
+        0 * circuitBreaker.onResult(_, _)
+    }
+
+    def "Requests not targeting a subsystem are not protected by a circuit breaker"() {
+
+        when: "execute a call without a subsystem"
+        circuitBreakerRegistry.execute(new HttpRequest(), Mono.just(ResponseEntity.status(503).build())).block()
+
+        then: "no circuit breaker is created"
+        circuitBreakerRegistry.getCircuitBreakers().isEmpty()
+    }
+
+    def "Circuit breakers of a removed subsystem and its resources are removed with their meters"() {
+
+        setup: "configure circuit breakers per resource"
+        properties.perResource = true
+
+        and: "execute calls for resources of two subsystems"
+        [new HttpRequest(subsystemName: "subsystem1", resourceName: "rc/resource1"),
+         new HttpRequest(subsystemName: "subsystem1", resourceName: "rc/resource2"),
+         new HttpRequest(subsystemName: "subsystem10", resourceName: "rc/resource1")].each {
+            circuitBreakerRegistry.execute(it, Mono.just(ResponseEntity.ok().build())).block()
+        }
+
+        when: "remove the circuit breakers of subsystem1"
+        circuitBreakerRegistry.removeCircuitBreakers("subsystem1")
+
+        then: "only the circuit breakers of subsystem1 and their meters are removed"
+        circuitBreakerRegistry.getCircuitBreakers().keySet() == ["subsystem10/rc/resource1"] as Set
+        meterRegistry.getMeters().collect { it.getId().getTag("name") }.toSet() == ["subsystem10/rc/resource1"] as Set
+    }
+}
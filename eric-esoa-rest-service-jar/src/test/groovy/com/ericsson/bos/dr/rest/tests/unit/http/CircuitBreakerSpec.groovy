@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.tests.unit.http
+
+import java.time.Duration
+
+import com.ericsson.bos.dr.rest.service.http.circuitbreaker.CircuitBreaker
+import com.ericsson.bos.dr.rest.service.http.circuitbreaker.CircuitBreakerProperties
+import spock.lang.Specification
+
+import static com.ericsson.bos.dr.rest.service.http.circuitbreaker.CircuitBreaker.State.CLOSED
+import static com.ericsson.bos.dr.rest.service.http.circuitbreaker.CircuitBreaker.State.HALF_OPEN
+import static com.ericsson.bos.dr.rest.service.http.circuitbreaker.CircuitBreaker.State.OPEN
+
+class CircuitBreakerSpec extends Specification {
+
+    long now = 0
+    CircuitBreakerProperties properties = new CircuitBreakerProperties(failureRateThreshold: 50, slowCallRateThreshold: 100,
+            slowCallDuration: Duration.ofSeconds(1), slidingWindowSize: 4, minimumNumberOfCalls: 4,
+            waitDurationInOpenState: Duration.ofSeconds(30), permittedCallsInHalfOpenState: 2)
+    CircuitBreaker circuitBreaker = new CircuitBreaker("subsystem1", properties, () -> now)
+
+    def "Circuit breaker opens when failure rate threshold is reached and closes after successful probe calls"() {
+
+        when: "record failures below the minimum number of calls"
+        3.times { recordCall(true) }
+
+        then: "circuit breaker remains closed"
+        circuitBreaker.state == CLOSED
+
+        when: "record failure which reaches the minimum number of calls"
+        recordCall(true)
+
+        then: "circuit breaker is open and calls are rejected"
+        circuitBreaker.state == OPEN
+        circuitBreaker.tryAcquirePermission() == false
+
+        when: "wait duration in open state elapses"
+        now += Duration.ofSeconds(30).toNanos()
+
+        then: "circuit breaker is half open and permits the probe calls only"
+        circuitBreaker.tryAcquirePermission()
+        circuitBreaker.state == HALF_OPEN
+        circuitBreaker.tryAcquirePermission()
+        circuitBreaker.tryAcquirePermission() == false
+
+        when: "probe calls succeed"
+        2.times { circuitBreaker.onResult(false, 0) }
+
+        then: "circuit breaker is closed"
+        circuitBreaker.state == CLOSED
+        circuitBreaker.tryAcquirePermission()
+    }
+
+    def "Circuit breaker reopens when probe calls fail"() {
+
+        given: "circuit breaker is half open"
+        4.times { recordCall(true) }
+        now += Duration.ofSeconds(30).toNanos()
+        2.times { circuitBreaker.tryAcquirePermission() }
+
+        when: "probe calls fail"
+        2.times { circuitBreaker.onResult(true, 0) }
+
+        then: "circuit breaker is open"
+        circuitBreaker.state == OPEN
+        circuitBreaker.tryAcquirePermission() == false
+    }
+
+    def "Circuit breaker opens when slow call rate threshold is reached"() {
+
+        when: "record successful calls slower than the slow call duration"
+        4.times { circuitBreaker.onResult(false, Duration.ofSeconds(2).toNanos()) }
+
+        then: "circuit breaker is open"
+        circuitBreaker.state == OPEN
+        circuitBreaker.slowCallRate == 100
+    }
+
+    def "Circuit breaker remains closed when failure rate is below threshold"() {
+
+        when: "record calls in which one in four fails"
+        [true, false, false, false, false, false].each { recordCall(it) }
+
+        then: "circuit breaker is closed"
+        circuitBreaker.state == CLOSED
+        circuitBreaker.failureRate == 0
+        circuitBreaker.bufferedCalls == 4
+    }
+
+    private void recordCall(boolean failed) {
+        assert circuitBreaker.tryAcquirePermission()
+        circuitBreaker.onResult(failed, 0)
+    }
+}
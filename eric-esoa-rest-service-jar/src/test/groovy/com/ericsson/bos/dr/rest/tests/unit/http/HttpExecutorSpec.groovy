@@ -15,6 +15,8 @@
  ******************************************************************************/
 package com.ericsson.bos.dr.rest.tests.unit.http
 
+import java.lang.reflect.Field
+
 import org.springframework.boot.context.properties.EnableConfigurationProperties
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*
@@ -23,6 +25,8 @@ import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.beans.factory.annotation.Qualifier
 import org.springframework.boot.test.context.TestConfiguration
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import org.springframework.context.annotation.Bean
 import org.springframework.context.annotation.ComponentScan
 import org.springframework.http.HttpStatus
@@ -36,13 +40,17 @@ import org.springframework.util.MultiValueMap
 
 
 import com.ericsson.bos.dr.rest.service.utils.URIEncoder
+import com.ericsson.bos.dr.rest.service.http.ConnectionProviderProperties
 import com.ericsson.bos.dr.rest.service.http.HttpExecutor
 import com.ericsson.bos.dr.rest.service.http.HttpRequest
+import com.github.benmanes.caffeine.cache.Cache
 import com.github.tomakehurst.wiremock.WireMockServer
 
 import io.netty.resolver.dns.DnsErrorCauseException
 import io.netty.resolver.dns.DnsNameResolverTimeoutException
+import reactor.netty.resources.ConnectionProvider
 import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
 
 @ContextConfiguration(classes = HttpExecutorTestConfig.class)
 @TestPropertySource(properties = ["service.http-executor.retry.max-attempts=1", "service.http-executor.retry.delay=1"], locations="classpath:application.properties")
@@ -52,6 +60,9 @@ class HttpExecutorSpec extends Specification {
     @Qualifier("connected_system")
     HttpExecutor httpExecutor
 
+    @Autowired
+    ConnectionProviderProperties connectionProviderProperties
+
     static String wiremockPort
 
     static WireMockServer wireMockServer = new WireMockServer(options().dynamicPort())
@@ -203,6 +214,90 @@ class HttpExecutorSpec extends Specification {
         ]
     }
 
+    def "Requests for each subsystem use a dedicated connection pool"() {
+        setup: "Configure expected rest call from the http executor"
+        wireMockServer.stubFor(get(urlEqualTo("/rest-api/some-endpoint")).willReturn(aResponse().withStatus(200)))
+
+        when: "Execute requests for 2 subsystems and without a subsystem"
+        httpExecutor.execute(createSubsystemRequest("subsystem-1"))
+        httpExecutor.execute(createSubsystemRequest("subsystem-1"))
+        httpExecutor.execute(createSubsystemRequest("subsystem-2"))
+        httpExecutor.execute(createSubsystemRequest(null))
+
+        then: "A connection pool is created for each subsystem"
+        Map<String, ConnectionProvider> connectionProviders = subsystemConnectionProviders().asMap()
+        connectionProviders.keySet() == ["subsystem-1", "subsystem-2"] as Set
+        !connectionProviders["subsystem-1"].is(connectionProviders["subsystem-2"])
+        !connectionProviders.values().any { it.is(httpExecutorField("connectionProvider")) }
+    }
+
+    def "Connection pool of a subsystem uses the limits overridden for the subsystem"() {
+        setup: "Override the max connections of subsystem-3"
+        connectionProviderProperties.subsystems["subsystem-3"] = new ConnectionProviderProperties.PoolLimits(maxConnections: 3)
+
+        and: "Configure expected rest call from the http executor"
+        wireMockServer.stubFor(get(urlEqualTo("/rest-api/some-endpoint")).willReturn(aResponse().withStatus(200)))
+
+        when: "Execute requests for subsystem-3 and subsystem-4"
+        httpExecutor.execute(createSubsystemRequest("subsystem-3"))
+        httpExecutor.execute(createSubsystemRequest("subsystem-4"))
+
+        then: "subsystem-3 uses the overridden limit and subsystem-4 the default limit"
+        Map<String, ConnectionProvider> connectionProviders = subsystemConnectionProviders().asMap()
+        connectionProviders["subsystem-3"].maxConnections() == 3
+        connectionProviders["subsystem-4"].maxConnections() == connectionProviderProperties.maxConnections
+
+        cleanup:
+        connectionProviderProperties.subsystems.remove("subsystem-3")
+    }
+
+    def "Connection pool of a subsystem is disposed when removed and created again on next use"() {
+        setup: "Configure expected rest call from the http executor"
+        wireMockServer.stubFor(get(urlEqualTo("/rest-api/some-endpoint")).willReturn(aResponse().withStatus(200)))
+
+        and: "Execute request for subsystem-5"
+        httpExecutor.execute(createSubsystemRequest("subsystem-5"))
+        ConnectionProvider connectionProvider = subsystemConnectionProviders().getIfPresent("subsystem-5")
+
+        when: "Remove connection pool of subsystem-5"
+        httpExecutor.removeConnectionPool("subsystem-5")
+
+        then: "Connection pool is disposed, together with the WebClients using it"
+        new PollingConditions(timeout: 5).eventually {
+            assert connectionProvider.isDisposed()
+        }
+        subsystemConnectionProviders().getIfPresent("subsystem-5") == null
+        !(httpExecutorField("webClients") as Cache).asMap().keySet().any { it.connectionProvider().is(connectionProvider) }
+
+        when: "Execute request for subsystem-5 again"
+        ResponseEntity response = httpExecutor.execute(createSubsystemRequest("subsystem-5"))
+
+        then: "Request succeeds using a new connection pool"
+        response.statusCode == HttpStatus.OK
+        !subsystemConnectionProviders().getIfPresent("subsystem-5").is(connectionProvider)
+    }
+
+    private Cache<String, ConnectionProvider> subsystemConnectionProviders() {
+        return httpExecutorField("subsystemConnectionProviders") as Cache<String, ConnectionProvider>
+    }
+
+    private Object httpExecutorField(String name) {
+        Field field = HttpExecutor.getDeclaredField(name)
+        field.setAccessible(true)
+        return field.get(httpExecutor)
+    }
+
+    private HttpRequest createSubsystemRequest(String subsystemName) {
+        HttpRequest httpRequest = new HttpRequest()
+        httpRequest.setSubsystemName(subsystemName)
+        httpRequest.setUrl("http://localhost:${wiremockPort}/rest-api/some-endpoint".toString())
+        httpRequest.setMethod("GET")
+        httpRequest.setBody(null)
+        httpRequest.setHeaders(["Accept": ["application/json"]])
+        httpRequest.setEncodeUrl(true)
+        return httpRequest
+    }
+
     @TestConfiguration
     @EnableConfigurationProperties
     @ComponentScan(basePackages = ["com.ericsson.bos.dr.rest.service.http", "com.ericsson.bos.dr.rest.service.substitution"])
@@ -213,5 +308,10 @@ class HttpExecutorSpec extends Specification {
         public WebClient.Builder getWebClientBuilder() {
             return WebClient.builder()
         }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry()
+        }
     }
 }
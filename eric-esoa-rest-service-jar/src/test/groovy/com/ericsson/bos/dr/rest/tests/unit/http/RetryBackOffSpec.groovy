@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.tests.unit.http
+
+import java.time.Duration
+import java.util.concurrent.ThreadLocalRandom
+
+import com.ericsson.bos.dr.rest.service.http.retry.RetryBackOff
+import com.ericsson.bos.dr.rest.web.v1.api.model.RetryPolicyDto
+import spock.lang.Specification
+
+import static com.ericsson.bos.dr.rest.web.v1.api.model.RetryPolicyDto.JitterEnum.DECORRELATED
+import static com.ericsson.bos.dr.rest.web.v1.api.model.RetryPolicyDto.JitterEnum.FULL
+
+class RetryBackOffSpec extends Specification {
+
+    def "Back off is multiplied after each retry up to the max back off"() {
+
+        setup: "retry back off without jitter"
+        RetryBackOff retryBackOff = new RetryBackOff(new RetryPolicyDto(backOffSeconds: 0.5, backOffMultiplier: multiplier,
+                maxBackOffSeconds: maxBackOffSeconds), () -> 0.5d)
+
+        expect: "back off of each retry is as expected"
+        (0..4).collect { retryBackOff.next(it) } == expectedBackOffSeconds.collect { Duration.ofMillis((long) (it * 1000)) }
+
+        where:
+        multiplier | maxBackOffSeconds | expectedBackOffSeconds
+        null       | null              | [0.5, 0.5, 0.5, 0.5, 0.5]
+        1          | 10                | [0.5, 0.5, 0.5, 0.5, 0.5]
+        2          | 100               | [0.5, 1, 2, 4, 8]
+        3          | 5                 | [0.5, 1.5, 4.5, 5, 5]
+        2          | 0.2               | [0.2, 0.2, 0.2, 0.2, 0.2]
+    }
+
+    def "Back off is capped by default when the max back off is not set"() {
+
+        setup: "retry back off without max back off"
+        RetryBackOff retryBackOff = new RetryBackOff(new RetryPolicyDto(backOffSeconds: backOffSeconds, backOffMultiplier: 10),
+                () -> 0.5d)
+
+        expect: "back off is capped at 60 seconds, or at the initial back off if greater"
+        (0..3).collect { retryBackOff.next(it).toSeconds() } == expectedBackOffSeconds
+
+        where:
+        backOffSeconds | expectedBackOffSeconds
+        1              | [1, 10, 60, 60]
+        90             | [90, 90, 90, 90]
+    }
+
+    def "Full jitter waits for a random time up to the back off"() {
+
+        setup: "retry back off with full jitter"
+        RetryBackOff retryBackOff = new RetryBackOff(new RetryPolicyDto(backOffSeconds: 1, backOffMultiplier: 2, maxBackOffSeconds: 10,
+                jitter: FULL), () -> ThreadLocalRandom.current().nextDouble())
+
+        expect: "back off is between zero and the exponential back off"
+        (0..999).every {
+            long retriesAttempted = it % 6
+            Duration backOff = retryBackOff.next(retriesAttempted)
+            !backOff.isNegative() && backOff < Duration.ofMillis((long) (Math.min(10, Math.pow(2, retriesAttempted)) * 1000))
+        }
+    }
+
+    def "Full jitter bounds are reached for the lowest and highest random values"() {
+
+        setup: "retry back off with full jitter"
+        RetryBackOff retryBackOff = new RetryBackOff(new RetryPolicyDto(backOffSeconds: 4, jitter: FULL), () -> random)
+
+        expect: "back off is scaled by the random value"
+        retryBackOff.next(0) == expectedBackOff
+
+        where:
+        random | expectedBackOff
+        0d     | Duration.ZERO
+        0.5d   | Duration.ofSeconds(2)
+        0.999d | Duration.ofMillis(3996)
+    }
+
+    def "Decorrelated jitter waits for a random time between the back off and three times the previous back off"() {
+
+        setup: "retry back off with decorrelated jitter"
+        RetryBackOff retryBackOff = new RetryBackOff(new RetryPolicyDto(backOffSeconds: 1, maxBackOffSeconds: 20,
+                jitter: DECORRELATED), () -> ThreadLocalRandom.current().nextDouble())
+        Duration previousBackOff = Duration.ofSeconds(1)
+
+        expect: "back off is between the back off and three times the previous back off, up to the max back off"
+        (0..999).every {
+            Duration backOff = retryBackOff.next(it)
+            Duration upperBound = [previousBackOff.multipliedBy(3), Duration.ofSeconds(20)].min()
+            boolean withinBounds = backOff >= Duration.ofSeconds(1) && backOff <= upperBound
+            previousBackOff = backOff
+            withinBounds
+        }
+    }
+
+    def "Decorrelated jitter grows from the previous back off for the highest random values"() {
+
+        setup: "retry back off with decorrelated jitter and random value close to 1"
+        RetryBackOff retryBackOff = new RetryBackOff(new RetryPolicyDto(backOffSeconds: 1, maxBackOffSeconds: 20,
+                jitter: DECORRELATED), () -> 1d)
+
+        expect: "back off is three times the previous back off, up to the max back off"
+        (0..4).collect { retryBackOff.next(it).toSeconds() } == [3, 9, 20, 20, 20]
+    }
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.tests.unit.http
+
+import java.time.Duration
+
+import com.ericsson.bos.dr.rest.service.http.SubsystemRegistryProperties
+import com.ericsson.bos.dr.rest.service.http.retry.RetryBudget
+import com.ericsson.bos.dr.rest.service.http.retry.RetryBudgetProperties
+import com.ericsson.bos.dr.rest.service.http.retry.RetryBudgetRegistry
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+class RetryBudgetRegistrySpec extends Specification {
+
+    MeterRegistry meterRegistry = new SimpleMeterRegistry()
+    SubsystemRegistryProperties subsystemRegistryProperties = new SubsystemRegistryProperties(maximumSize: 2)
+    RetryBudgetRegistry retryBudgetRegistry = new RetryBudgetRegistry()
+
+    def setup() {
+        retryBudgetRegistry.@retryBudgetProperties = new RetryBudgetProperties(enabled: true, retryPercent: 20, minRetriesPerSecond: 1,
+                window: Duration.ofSeconds(2))
+        retryBudgetRegistry.@meterRegistry = meterRegistry
+        retryBudgetRegistry.@subsystemRegistryProperties = subsystemRegistryProperties
+    }
+
+    def "Retry budget is created once per subsystem and registers its meters"() {
+
+        setup: "initialize the registry"
+        retryBudgetRegistry.init()
+
+        when: "get the retry budget twice"
+        RetryBudget retryBudget = retryBudgetRegistry.get("subsystem1")
+
+        then: "the same retry budget is returned"
+        retryBudgetRegistry.get("subsystem1").is(retryBudget)
+
+        and: "meters of the retry budget are registered"
+        meters("subsystem1") == 2
+    }
+
+    def "Removed retry budget is re-created and its meters are removed"() {
+
+        setup: "initialize the registry and create retry budgets"
+        retryBudgetRegistry.init()
+        RetryBudget retryBudget = retryBudgetRegistry.get("subsystem1")
+        retryBudgetRegistry.get("subsystem2")
+
+        when: "remove the retry budget of subsystem1"
+        retryBudgetRegistry.removeRetryBudget("subsystem1")
+
+        then: "only the meters of subsystem1 are removed"
+        meters("subsystem1") == 0
+        meters("subsystem2") == 2
+
+        and: "a new retry budget is created on next use, with its meters"
+        !retryBudgetRegistry.get("subsystem1").is(retryBudget)
+        meters("subsystem1") == 2
+    }
+
+    def "Retry budget not used within the expiry is removed with its meters"() {
+
+        setup: "initialize the registry with a short expiry and create a retry budget"
+        subsystemRegistryProperties.expireAfterAccess = Duration.ofMillis(100)
+        retryBudgetRegistry.init()
+        retryBudgetRegistry.get("subsystem1")
+
+        expect: "retry budget and its meters are removed once expired"
+        new PollingConditions(timeout: 5).eventually {
+            retryBudgetRegistry.@retryBudgets.cleanUp()
+            assert retryBudgetRegistry.@retryBudgets.estimatedSize() == 0
+            assert meters("subsystem1") == 0
+        }
+    }
+
+    def "Number of retry budgets is bounded and evicted retry budgets have their meters removed"() {
+
+        setup: "initialize the registry"
+        retryBudgetRegistry.init()
+
+        when: "get the retry budgets of more subsystems than the maximum size"
+        (1..5).each { retryBudgetRegistry.get("subsystem${it}") }
+        retryBudgetRegistry.@retryBudgets.cleanUp()
+
+        then: "only the maximum number of retry budgets are kept, together with their meters"
+        retryBudgetRegistry.@retryBudgets.estimatedSize() == 2
+        meterRegistry.find("http_retry_budget_remaining").meters().size() == 2
+    }
+
+    def "No retry budget is returned when retry budgets are disabled"() {
+
+        setup: "disable retry budgets"
+        retryBudgetRegistry.@retryBudgetProperties = new RetryBudgetProperties(enabled: false)
+        retryBudgetRegistry.init()
+
+        expect: "no retry budget and no meters"
+        retryBudgetRegistry.get("subsystem1") == null
+        meters("subsystem1") == 0
+    }
+
+    private int meters(String subsystemName) {
+        return meterRegistry.find("http_retry_budget_remaining").tag("subsystem", subsystemName).meters().size() +
+                meterRegistry.find("http_retry_budget_exhausted").tag("subsystem", subsystemName).meters().size()
+    }
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.tests.unit.http
+
+import java.time.Duration
+
+import com.ericsson.bos.dr.rest.service.http.retry.RetryBudget
+import com.ericsson.bos.dr.rest.service.http.retry.RetryBudgetProperties
+import spock.lang.Specification
+
+class RetryBudgetSpec extends Specification {
+
+    long now = 0
+    RetryBudgetProperties properties = new RetryBudgetProperties(retryPercent: 20, minRetriesPerSecond: 1, window: Duration.ofSeconds(2))
+    RetryBudget retryBudget = new RetryBudget("subsystem1", properties, () -> now)
+
+    def "Retries are permitted up to the retry percentage of requests plus the minimum retries"() {
+
+        given: "10 requests"
+        10.times { retryBudget.recordRequest() }
+
+        expect: "2 retries for the requests and 2 minimum retries for the window are permitted"
+        4.times { assert retryBudget.tryAcquireRetry() }
+        retryBudget.tryAcquireRetry() == false
+        retryBudget.remainingRetries == 0
+        retryBudget.exhausted == 1
+    }
+
+    def "Retry budget is replenished as requests and retries leave the window"() {
+
+        given: "retry budget is exhausted"
+        10.times { retryBudget.recordRequest() }
+        4.times { retryBudget.tryAcquireRetry() }
+
+        when: "window elapses"
+        now += Duration.ofSeconds(2).toNanos()
+
+        then: "only the minimum retries are permitted"
+        retryBudget.remainingRetries == 2
+        2.times { assert retryBudget.tryAcquireRetry() }
+        retryBudget.tryAcquireRetry() == false
+    }
+}
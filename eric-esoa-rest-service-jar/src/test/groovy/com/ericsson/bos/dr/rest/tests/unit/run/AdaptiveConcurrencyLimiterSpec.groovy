@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.tests.unit.run
+
+import java.time.Duration
+
+import com.ericsson.bos.dr.rest.service.run.limiter.AdaptiveConcurrencyLimiter
+import com.ericsson.bos.dr.rest.service.run.limiter.ConcurrencyLimiterProperties
+import spock.lang.Specification
+
+class AdaptiveConcurrencyLimiterSpec extends Specification {
+
+    ConcurrencyLimiterProperties properties = new ConcurrencyLimiterProperties(initialLimit: 4, minLimit: 2, maxLimit: 5,
+            backoffRatio: 0.5, latencyThreshold: Duration.ofSeconds(1))
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("subsystem1", properties)
+
+    def "Calls are rejected once the limit is reached"() {
+
+        when: "acquire permits up to the limit"
+        4.times { assert limiter.tryAcquire() }
+
+        then: "further calls are rejected"
+        limiter.tryAcquire() == false
+        limiter.inFlight == 4
+        limiter.rejected == 1
+    }
+
+    def "Limit is increased additively when calls succeed while the limit is in use"() {
+
+        given: "calls in flight up to the limit"
+        4.times { limiter.tryAcquire() }
+
+        when: "calls succeed"
+        4.times { limiter.onSample(0, false) }
+
+        then: "limit is increased up to the max limit"
+        limiter.limit == 5
+        limiter.inFlight == 0
+    }
+
+    def "Limit is not increased when calls succeed while the limit is not in use"() {
+
+        when: "single call succeeds"
+        limiter.tryAcquire()
+        limiter.onSample(0, false)
+
+        then: "limit is unchanged"
+        limiter.limit == 4
+    }
+
+    def "Limit is decreased multiplicatively when calls are dropped or exceed the latency threshold"() {
+
+        when: "call is dropped"
+        limiter.tryAcquire()
+        limiter.onSample(0, true)
+
+        then: "limit is decreased by the backoff ratio"
+        limiter.limit == 2
+
+        when: "call exceeds the latency threshold"
+        limiter.tryAcquire()
+        limiter.onSample(Duration.ofSeconds(2).toNanos(), false)
+
+        then: "limit is not decreased below the min limit"
+        limiter.limit == 2
+    }
+}
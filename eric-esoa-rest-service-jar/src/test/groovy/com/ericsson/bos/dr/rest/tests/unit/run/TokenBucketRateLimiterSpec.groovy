@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.tests.unit.run
+
+import java.time.Duration
+
+import com.ericsson.bos.dr.rest.service.run.limiter.TokenBucketRateLimiter
+import spock.lang.Specification
+
+class TokenBucketRateLimiterSpec extends Specification {
+
+    long now = 0
+    TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter("subsystem1", 2, 2, () -> now)
+
+    def "Permits are available immediately up to the burst"() {
+
+        expect: "permits are reserved without waiting"
+        rateLimiter.reserve(0) == 0
+        rateLimiter.reserve(0) == 0
+
+        and: "next permit is not available without waiting"
+        rateLimiter.reserve(0) == -1
+        rateLimiter.availablePermits == 0
+    }
+
+    def "Permit is reserved ahead of time when available within the max wait"() {
+
+        given: "burst is used"
+        2.times { rateLimiter.reserve(0) }
+
+        expect: "permit is reserved with wait until it is refilled"
+        rateLimiter.reserve(Duration.ofSeconds(1).toNanos()) == Duration.ofMillis(500).toNanos()
+        rateLimiter.reserve(Duration.ofSeconds(1).toNanos()) == Duration.ofSeconds(1).toNanos()
+
+        and: "permit is rejected when the wait would exceed the max wait"
+        rateLimiter.reserve(Duration.ofSeconds(1).toNanos()) == -1
+        rateLimiter.availablePermits == -2
+    }
+
+    def "Permits are refilled at the permitted rate up to the burst"() {
+
+        given: "burst is used"
+        2.times { rateLimiter.reserve(0) }
+
+        when: "half a second elapses"
+        now += Duration.ofMillis(500).toNanos()
+
+        then: "one permit is available"
+        rateLimiter.availablePermits == 1
+
+        when: "ten seconds elapse"
+        now += Duration.ofSeconds(10).toNanos()
+
+        then: "permits are refilled up to the burst only"
+        rateLimiter.availablePermits == 2
+    }
+}
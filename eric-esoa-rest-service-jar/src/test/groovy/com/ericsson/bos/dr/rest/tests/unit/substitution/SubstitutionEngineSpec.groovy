@@ -22,6 +22,7 @@ import com.ericsson.bos.dr.rest.service.exceptions.ErrorCode
 import com.ericsson.bos.dr.rest.service.exceptions.RestServiceException
 import com.ericsson.bos.dr.rest.service.substitution.SubstitutionEngine
 import com.google.common.collect.Maps
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 
 import spock.lang.Specification
 
@@ -146,4 +147,49 @@ class SubstitutionEngineSpec extends Specification{
         def exception = thrown(RestServiceException)
         exception.getMessage().contains("No signature of method: static java.lang.System.currentTime() is applicable for argument")
     }
+
+    def "Cached template is rendered using the substitution context of each call"() {
+        when: "render the same template with different substitution contexts"
+        String template = "{% for item in items %}{{item.name}}-{{fn:replaceAtSymbol(suffix)}};{% endfor %}"
+        String result1 = substitutionEngine.render(template, [items: [[name: "a"], [name: "b"]], suffix: "x@y"])
+        String result2 = substitutionEngine.render(template, [items: [[name: "c"]], suffix: "z"])
+
+        then: "each result is rendered from its own substitution context"
+        result1 == "a-x__y;b-x__y;"
+        result2 == "c-z;"
+    }
+
+    def "Exception is thrown on each render of a template with a syntax error"() {
+        when: "render the invalid template"
+        substitutionEngine.render("{% if x %}unclosed", [x: true])
+
+        then: "RestServiceException is thrown"
+        thrown(RestServiceException)
+
+        when: "render the invalid template again"
+        substitutionEngine.render("{% if x %}unclosed", [x: true])
+
+        then: "RestServiceException is thrown again"
+        thrown(RestServiceException)
+    }
+
+    def "Parsed template is cached and reused on subsequent renders"() {
+
+        setup: "bind the template cache metrics"
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+        substitutionEngine.bindTo(meterRegistry)
+        String template = "{{ cacheTest }}-${UUID.randomUUID()}"
+
+        when: "render the same template twice"
+        String first = substitutionEngine.render(template, [cacheTest: "a"])
+        String second = substitutionEngine.render(template, [cacheTest: "b"])
+
+        then: "template is rendered with each substitution context"
+        first.startsWith("a-")
+        second.startsWith("b-")
+
+        and: "first render is a template cache miss and second render is a template cache hit"
+        meterRegistry.get("cache.gets").tag("cache", "jinja_template_cache").tag("result", "hit").functionCounter().count() >= 1
+        meterRegistry.get("cache.gets").tag("cache", "jinja_template_cache").tag("result", "miss").functionCounter().count() >= 1
+    }
 }
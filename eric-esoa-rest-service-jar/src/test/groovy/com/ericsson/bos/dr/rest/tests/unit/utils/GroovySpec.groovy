@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.tests.unit.utils
+
+import com.ericsson.bos.dr.rest.service.utils.Groovy
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+class GroovySpec extends Specification {
+
+    def "Expression is evaluated with the supplied arguments"() {
+        expect: "expression is evaluated"
+        Groovy.evalExpression(expression, args as Object[]) == expectedResult
+
+        where:
+        expression                | args        | expectedResult
+        "arg1 + arg2"             | [1, 2]      | 3
+        "arg1.toUpperCase()"      | ["abc"]     | "ABC"
+        "arg1.collect { it * 2 }" | [[1, 2, 3]] | [2, 4, 6]
+    }
+
+    def "Compiled expression is cached and reused on subsequent evaluations"() {
+        setup: "bind cache metrics"
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+        Groovy.bindTo(meterRegistry)
+        String expression = "arg1 * ${UUID.randomUUID().hashCode()}"
+        double hits = cacheGets(meterRegistry, "hit")
+        double misses = cacheGets(meterRegistry, "miss")
+
+        when: "evaluate the same expression with different arguments"
+        Object result1 = Groovy.evalExpression(expression, 1)
+        Object result2 = Groovy.evalExpression(expression, 2)
+
+        then: "expression is compiled once and then read from the cache"
+        result2 == result1 * 2
+        cacheGets(meterRegistry, "miss") - misses == 1
+        cacheGets(meterRegistry, "hit") - hits == 1
+    }
+
+    def "Class loader of compiled expression is closed when removed from the cache"() {
+        setup: "evaluate expression"
+        String expression = "arg1 + ${UUID.randomUUID().hashCode()}"
+        Groovy.evalExpression(expression, 1)
+        GroovyClassLoader classLoader = Groovy.SCRIPT_CACHE.getIfPresent(expression).classLoader()
+        assert classLoader.loadedClasses.length > 0
+
+        when: "remove expression from the cache"
+        Groovy.SCRIPT_CACHE.invalidate(expression)
+
+        then: "class loader is closed"
+        classLoader.loadedClasses.length == 0
+    }
+
+    private static double cacheGets(SimpleMeterRegistry meterRegistry, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "groovy_script_cache").tag("result", result)
+                .functionCounter().count()
+    }
+}
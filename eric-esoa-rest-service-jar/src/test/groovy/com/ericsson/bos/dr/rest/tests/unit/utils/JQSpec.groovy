@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.tests.unit.utils
+
+import com.ericsson.bos.dr.rest.service.exceptions.ErrorCode
+import com.ericsson.bos.dr.rest.service.exceptions.RestServiceException
+import com.ericsson.bos.dr.rest.service.utils.JQ
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.ObjectMapper
+import spock.lang.Specification
+
+class JQSpec extends Specification {
+
+    ObjectMapper objectMapper = new ObjectMapper()
+
+    def "jq query returns expected result"() {
+        when: "apply jq expression"
+        JsonNode result = JQ.query(expression, objectMapper.readTree(json)).get().get(0)
+
+        then: "result is as expected"
+        result.toString() == expectedResult
+
+        where:
+        expression          | json                                   | expectedResult
+        ".a"                | '{"a": 1}'                             | '1'
+        ".a.b"              | '{"a": {"b": "v1"}}'                   | '"v1"'
+        ".a.b_2.c"          | '{"a": {"b_2": {"c": [1, 2]}}}'        | '[1,2]'
+        ".a.b"              | '{"a": {"c": "v1"}}'                   | 'null'
+        ".a.b.c"            | '{"a": null}'                          | 'null'
+        ".a[0].b"           | '{"a": [{"b": "v1"}]}'                 | '"v1"'
+        ".a | length"       | '{"a": [1, 2, 3]}'                     | '3'
+    }
+
+    def "jq query fails when indexing a node which is not an object"() {
+        when: "apply field path expression to an array"
+        JQ.query(".a.b", objectMapper.readTree('{"a": [1, 2]}'))
+
+        then: "RestServiceException is thrown"
+        RestServiceException exception = thrown(RestServiceException)
+        exception.errorMessage.errorCode == ErrorCode.JQ_ERROR.errorCode
+    }
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.tests.unit.utils
+
+import com.ericsson.bos.dr.rest.service.utils.JSON
+import spock.lang.Specification
+
+class JSONSpec extends Specification {
+
+    def "read object for substitution if json returns expected result"() {
+        when: "read value"
+        Object result = JSON.readObjectForSubstitutionIfJson(value)
+
+        then: "result is as expected"
+        result == expectedResult
+
+        where:
+        value                                       | expectedResult
+        '{"a": 1, "b": ["v1", {"c": true}]}'        | [a: 1, b: ["v1", [c: true]]]
+        '[1, "v1"]'                                 | [1, "v1"]
+        '"v1"'                                      | "v1"
+        '1.5'                                       | 1.5d
+        '{"message": "invalid attribute \\"a1\\""}' | [message: 'invalid attribute \\"a1\\"']
+        'not json'                                  | 'not json'
+        ''                                          | ''
+    }
+}
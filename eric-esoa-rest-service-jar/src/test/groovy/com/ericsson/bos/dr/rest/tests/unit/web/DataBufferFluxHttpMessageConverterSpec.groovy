@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * COPYRIGHT Ericsson 2023
+ *
+ *
+ *
+ * The copyright to the computer program(s) herein is the property of
+ *
+ * Ericsson Inc. The programs may be used and/or copied only with written
+ *
+ * permission from Ericsson Inc. or in accordance with the terms and
+ *
+ * conditions stipulated in the agreement/contract under which the
+ *
+ * program(s) have been supplied.
+ ******************************************************************************/
+package com.ericsson.bos.dr.rest.tests.unit.web
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+import com.ericsson.bos.dr.rest.web.DataBufferFluxHttpMessageConverter
+import io.netty.buffer.UnpooledByteBufAllocator
+import org.springframework.core.io.buffer.DataBuffer
+import org.springframework.core.io.buffer.NettyDataBuffer
+import org.springframework.core.io.buffer.NettyDataBufferFactory
+import org.springframework.http.HttpHeaders
+import org.springframework.http.HttpOutputMessage
+import org.springframework.http.MediaType
+import org.springframework.mock.http.MockHttpOutputMessage
+import reactor.core.publisher.Flux
+import reactor.core.scheduler.Schedulers
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+class DataBufferFluxHttpMessageConverterSpec extends Specification {
+
+    static final int BUFFER_SIZE = 8192
+
+    DataBufferFluxHttpMessageConverter converter = new DataBufferFluxHttpMessageConverter()
+    NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(new UnpooledByteBufAllocator(false))
+    List<NettyDataBuffer> allocatedBuffers = new CopyOnWriteArrayList<>()
+
+    def "Large body is written on the calling thread and every buffer is released"() {
+        setup: "body of 1000 buffers published on another thread"
+        Flux<DataBuffer> body = Flux.range(0, 1000).map { allocate(it) }.publishOn(Schedulers.parallel())
+        Set<Thread> writingThreads = new HashSet<>()
+        ByteArrayOutputStream written = new ByteArrayOutputStream() {
+            @Override
+            synchronized void write(byte[] bytes, int off, int len) {
+                writingThreads.add(Thread.currentThread())
+                super.write(bytes, off, len)
+            }
+        }
+
+        when: "write body"
+        converter.write(body, MediaType.APPLICATION_OCTET_STREAM, outputMessage(written))
+
+        then: "complete body is written on the calling thread"
+        written.size() == 1000 * BUFFER_SIZE
+        (0..999).every { written.toByteArray()[it * BUFFER_SIZE] == (byte) it }
+        writingThreads == [Thread.currentThread()] as Set
+
+        and: "all buffers are released"
+        allocatedBuffers.size() == 1000
+        allocatedBuffers.every { it.nativeBuffer.refCnt() == 0 }
+    }
+
+    def "Client abort cancels the body and releases every buffer received"() {
+        setup: "body of 1000 buffers emitted on another thread and output stream failing on the third write"
+        boolean cancelled = false
+        Flux<DataBuffer> body = Flux.range(0, 1000).map { allocate(it) }.doOnCancel { cancelled = true }
+                .subscribeOn(Schedulers.parallel())
+        int writes = 0
+        OutputStream aborted = new OutputStream() {
+            @Override
+            void write(int b) {
+                throw new UnsupportedOperationException()
+            }
+
+            @Override
+            void write(byte[] bytes, int off, int len) {
+                if (++writes == 3) {
+                    throw new IOException("Broken pipe")
+                }
+            }
+        }
+
+        when: "write body"
+        converter.write(body, MediaType.APPLICATION_OCTET_STREAM, outputMessage(aborted))
+
+        then: "write fails and body is cancelled"
+        thrown(IOException)
+        cancelled
+
+        and: "all buffers received are released"
+        new PollingConditions(timeout: 5).eventually {
+            assert allocatedBuffers.size() < 1000
+            assert allocatedBuffers.every { it.nativeBuffer.refCnt() == 0 }
+        }
+    }
+
+    def "Empty body is written"() {
+        setup: "output message"
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage()
+
+        when: "write empty body"
+        converter.write(Flux.<DataBuffer> empty(), MediaType.APPLICATION_OCTET_STREAM, outputMessage)
+
+        then: "nothing is written"
+        outputMessage.bodyAsBytes.length == 0
+    }
+
+    private NettyDataBuffer allocate(int index) {
+        byte[] bytes = new byte[BUFFER_SIZE]
+        Arrays.fill(bytes, (byte) index)
+        NettyDataBuffer dataBuffer = bufferFactory.wrap(bytes)
+        allocatedBuffers.add(dataBuffer)
+        return dataBuffer
+    }
+
+    private static HttpOutputMessage outputMessage(OutputStream outputStream) {
+        return new HttpOutputMessage() {
+            @Override
+            OutputStream getBody() {
+                return outputStream
+            }
+
+            @Override
+            HttpHeaders getHeaders() {
+                return new HttpHeaders()
+            }
+        }
+    }
+}